@@ -43,7 +43,7 @@ public interface AdapterAPI {
     public boolean startNewGame( GameParameters params );
     public GameParameters getModeParams( Mode mode );
     public void winGame( long time );
-    public void loseGame( int[][] mineLocations, int[] coordinate );
+    public void loseGame( int[] mineLocations, int[] coordinate );
     public void clearGame( );
     public void checkWinConditions( );
     
@@ -52,5 +52,20 @@ public interface AdapterAPI {
     public Marking nextMarking( int[] coordinate );
     public void checkNode( int[] coordinate );
     public void revealNode( int[] coordinate );
+    public void hideNode( int[] coordinate );
+    public void setNodeMarking( int[] coordinate, Marking marking );
+    
+    // Nodes by index, where the index of (x, y) is y * columns + x.
+    public void revealNearbyNodes( int index );
+    public Marking nextMarking( int index );
+    public void checkNode( int index );
+    public void revealNode( int index );
+    public void hideNode( int index );
+    public void setNodeProx( int index, int prox );
+    public void setNodeMarking( int index, Marking marking );
+    
+    // Undo
+    public boolean undo( );
+    public boolean redo( );
 
 } // End of AdapterAPI interface.
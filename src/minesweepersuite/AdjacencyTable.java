@@ -0,0 +1,328 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.Serializable;
+
+/**
+ * This class is used to find the nodes adjacent to some node without creating 
+ * any garbage. The adjacency of a board is computed once per board shape and 
+ * topology, and stored in compressed sparse row form: one array of index 
+ * offsets, and one array of where each run of offsets starts.
+ * 
+ * Nodes on an edge, in an odd row of a hexagonal board, or on the first or 
+ * last layer of a cubic board have different neighbors than the rest. So 
+ * rather than a run for every node, there is one run for each class of node 
+ * sharing the same offsets. That keeps the table tiny on any board, and 
+ * finding the neighbors of a node costs the same for every topology.
+ * 
+ * Nodes are addressed by the same index as a LandGrid, which is 
+ * (row * columns + column). A caller hands in a reusable buffer and gets back 
+ * the number of adjacent indexes written to it:
+ * 
+ * int count = adjacency.getAdjacent( index, buffer );
+ * for( int i = 0; i < count; i++ ) { ... buffer[i] ... }
+ * 
+ * @author Nicholas Moss
+ */
+public class AdjacencyTable implements Serializable {
+    
+    // The most adjacent nodes any node of any topology can have.
+    public static final int MAX_ADJACENT = 26;
+    
+    // The classes of a node along each axis. Rows also split on parity.
+    private static final int COLUMN_CLASSES = 3;
+    private static final int ROW_CLASSES = 4;
+    private static final int LAYER_CLASSES = 3;
+    private static final int CLASSES = 
+            COLUMN_CLASSES * ROW_CLASSES * LAYER_CLASSES;
+    
+    // Grid dimensions. The rows are split evenly between the layers.
+    private final int rows;
+    private final int columns;
+    private final int layers;
+    private final int layerRows;
+    private final Topology topology;
+    // The index offsets of every class, one run after another.
+    private final int[] offsets;
+    // Where the run of each class starts. The last entry ends the last run.
+    private final int[] runStarts;
+    
+    /**
+     * Default constructor. Computes the adjacency of a square board.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     */
+    public AdjacencyTable( int rows, int columns ) {
+        this( rows, columns, Topology.SQUARE, 1 );
+        
+    } // End of AdjacencyTable( )
+    
+    /**
+     * A constructor. Computes the adjacency of a board of any topology.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @param topology The Topology of the board.
+     * @param layers The number of layers of a cubic board, otherwise 1.
+     */
+    public AdjacencyTable( int rows, int columns, Topology topology, 
+                           int layers ) {
+        this.rows = rows;
+        this.columns = columns;
+        this.topology = topology;
+        this.layers = ( topology == Topology.CUBIC ) ? layers : 1;
+        this.layerRows = rows / this.layers;
+        
+        // Find the offsets of each class from one node of that class. These 
+        // nodes between them cover every class the board has.
+        int[][] classOffsets = new int[CLASSES][];
+        int[] adjacent = new int[MAX_ADJACENT];
+        int[] xs = { 0, 1, columns - 1 };
+        int[] ys = { 0, 1, 2, layerRows - 1 };
+        int[] zs = { 0, 1, this.layers - 1 };
+        int total = 0;
+        for( int z : zs ) {
+            for( int y : ys ) {
+                for( int x : xs ) {
+                    if( z >= this.layers || y >= layerRows )
+                        continue;
+                    int nodeClass = getNodeClass( x, y, z );
+                    if( classOffsets[nodeClass] != null )
+                        continue;
+                    int count = findAdjacent( x, y, z, adjacent );
+                    int index = getIndex( x, y, z );
+                    classOffsets[nodeClass] = new int[count];
+                    for( int i = 0; i < count; i++ ) {
+                        classOffsets[nodeClass][i] = adjacent[i] - index;
+                    }
+                    total += count;
+                }
+            }
+        }
+        
+        // Pack the runs one after another. Classes the board lacks are empty.
+        offsets = new int[total];
+        runStarts = new int[CLASSES + 1];
+        for( int nodeClass = 0; nodeClass < CLASSES; nodeClass++ ) {
+            int start = runStarts[nodeClass];
+            int[] run = classOffsets[nodeClass];
+            int count = ( run == null ) ? 0 : run.length;
+            if( count > 0 )
+                System.arraycopy( run, 0, offsets, start, count );
+            runStarts[nodeClass + 1] = start + count;
+        }
+        
+    } // End of AdjacencyTable( )
+    
+    /**
+     * This function checks if the table was built for some square board size.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @return True if the table can be used for the board size.
+     */
+    public boolean fits( int rows, int columns ) {
+        return fits( rows, columns, Topology.SQUARE, 1 );
+        
+    } // End of fits( )
+    
+    /**
+     * This function checks if the table was built for some board shape.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @param topology The Topology of the board.
+     * @param layers The number of layers of a cubic board, otherwise 1.
+     * @return True if the table can be used for the board shape.
+     */
+    public boolean fits( int rows, int columns, Topology topology, 
+                         int layers ) {
+        if( topology != Topology.CUBIC )
+            layers = 1;
+        
+        return this.rows == rows && this.columns == columns && 
+               this.topology == topology && this.layers == layers;
+        
+    } // End of fits( )
+    
+    /**
+     * This function gets the topology the table was built for.
+     * 
+     * @return The Topology of the board.
+     */
+    public Topology getTopology( ) {
+        return topology;
+        
+    } // End of getTopology( )
+    
+    /**
+     * This function gets how far apart in index two adjacent nodes can be. 
+     * On a wrapping board it is most of the grid.
+     * 
+     * @return The largest distance between the indexes of adjacent nodes.
+     */
+    public int getReach( ) {
+        int reach = 0;
+        for( int offset : offsets ) {
+            reach = Math.max( reach, Math.abs(offset) );
+        }
+        
+        return reach;
+        
+    } // End of getReach( )
+    
+    /**
+     * This function is used to write the indexes of the nodes adjacent to some 
+     * node into a buffer. The node itself is not included.
+     * 
+     * @param index The index of the center node.
+     * @param adjacent A buffer of at least MAX_ADJACENT length.
+     * @return The number of adjacent indexes written to the buffer.
+     */
+    public int getAdjacent( int index, int[] adjacent ) {
+        int row = index / columns;
+        int layer = row / layerRows;
+        int nodeClass = getNodeClass( index - row * columns, 
+                                      row - layer * layerRows, layer );
+        
+        int start = runStarts[nodeClass];
+        int count = runStarts[nodeClass + 1] - start;
+        for( int i = 0; i < count; i++ ) {
+            adjacent[i] = index + offsets[start + i];
+        }
+        
+        return count;
+        
+    } // End of getAdjacent( )
+    
+    /**
+     * This function is used to return a set of (x, y) coordinates of the 
+     * adjacent nodes from a specified (x, y) coordinate, including the node 
+     * itself. It creates new arrays so it should be kept out of hot paths.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @return A nested array of (x, y) coordinates of the nearby nodes.
+     */
+    public int[][] getAdjacentNodes( int[] coordinate ) {
+        int[] adjacent = new int[MAX_ADJACENT];
+        int index = coordinate[1] * columns + coordinate[0];
+        int count = getAdjacent( index, adjacent );
+        
+        int[][] nearbyNodes = new int[count + 1][];
+        nearbyNodes[0] = new int[] { coordinate[0], coordinate[1] };
+        for( int i = 0; i < count; i++ ) {
+            nearbyNodes[i + 1] = 
+                    new int[] { adjacent[i] % columns, adjacent[i] / columns };
+        }
+        
+        return nearbyNodes;
+        
+    } // End of getAdjacentNodes( )
+    
+    /**
+     * This function is used to work out the class of a node. Nodes of the 
+     * same class have the same offsets to their adjacent nodes.
+     * 
+     * @param x The column of the node.
+     * @param y The row of the node within its layer.
+     * @param z The layer of the node.
+     * @return The class of the node.
+     */
+    private int getNodeClass( int x, int y, int z ) {
+        int columnClass = ( x == 0 ) ? 0 : ( x == columns - 1 ) ? 2 : 1;
+        // Only hexagonal boards care if a row in the middle is odd or even.
+        int rowClass = ( y == 0 ) ? 0 : ( y == layerRows - 1 ) ? 3 
+                     : ( topology == Topology.HEXAGONAL ) ? 1 + (y & 1) : 1;
+        int layerClass = ( z == 0 ) ? 0 : ( z == layers - 1 ) ? 2 : 1;
+        
+        return ( layerClass * ROW_CLASSES + rowClass ) * COLUMN_CLASSES 
+               + columnClass;
+        
+    } // End of getNodeClass( )
+    
+    /**
+     * This function is used to find the adjacent nodes of a node by walking 
+     * the topology itself. It is only used to build the table.
+     * 
+     * @param x The column of the node.
+     * @param y The row of the node within its layer.
+     * @param z The layer of the node.
+     * @param adjacent A buffer of at least MAX_ADJACENT length.
+     * @return The number of adjacent indexes written to the buffer.
+     */
+    private int findAdjacent( int x, int y, int z, int[] adjacent ) {
+        int count = 0;
+        for( int zval = -1; zval <= 1; zval++ ) {
+            for( int yval = -1; yval <= 1; yval++ ) {
+                for( int xval = -1; xval <= 1; xval++ ) {
+                    if( xval == 0 && yval == 0 && zval == 0 )
+                        continue;
+                    int nx = x + xval;
+                    int ny = y + yval;
+                    int nz = z + zval;
+                    switch( topology ) {
+                        case TORUS:
+                            // Wrap off one edge onto the other.
+                            nx = ( nx + columns ) % columns;
+                            ny = ( ny + layerRows ) % layerRows;
+                            break;
+                        case HEXAGONAL:
+                            // Rows above and below have only two neighbors, 
+                            // shifted left on even rows and right on odd ones.
+                            if( yval != 0 && xval == ((y & 1) == 0 ? 1 : -1) )
+                                continue;
+                            break;
+                        default:
+                            break;
+                    }
+                    if( nx < 0 || nx >= columns || ny < 0 || 
+                        ny >= layerRows || nz < 0 || nz >= layers )
+                        continue;
+                    adjacent[count++] = getIndex( nx, ny, nz );
+                }
+            }
+        }
+        
+        return count;
+        
+    } // End of findAdjacent( )
+    
+    /**
+     * This function is used to map a column, row, and layer to a node index.
+     * 
+     * @param x The column of the node.
+     * @param y The row of the node within its layer.
+     * @param z The layer of the node.
+     * @return The index of the node.
+     */
+    private int getIndex( int x, int y, int z ) {
+        return ( z * layerRows + y ) * columns + x;
+        
+    } // End of getIndex( )
+    
+} // End of AdjacencyTable class.
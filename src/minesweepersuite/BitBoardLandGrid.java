@@ -0,0 +1,365 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.util.Arrays;
+
+/**
+ * This class is a LandGrid backend that stores the grid as bit planes. Every 
+ * property of a node is one bit in its own plane, and each row of a plane is 
+ * a run of longs with bit (column % 64) of word (column / 64) holding the 
+ * node. A node costs 8 bits spread over the planes, but whole rows can be 
+ * worked on 64 nodes at a time.
+ * 
+ * On top of the single node access of LandGrid this class can compute every 
+ * proximity count at once with bit-sliced counters, and can find an opening 
+ * by repeatedly growing a bit mask over the nodes without nearby mines.
+ * 
+ * @author Nicholas Moss
+ */
+public class BitBoardLandGrid extends LandGrid {
+    
+    // The number of longs in a row of a plane.
+    private final int wordsPerRow;
+    // The mask of the valid columns in the last word of a row.
+    private final long lastWordMask;
+    
+    // One plane per property. The proximity count is four planes, lowest bit 
+    // first, and the Marking ordinal is two planes.
+    private final long[] armed;
+    private final long[] revealed;
+    private final long[][] proximity;
+    private final long[][] marking;
+    
+    // Scratch plane reused by getOpening( ).
+    private transient long[] opening;
+    
+    /**
+     * Default constructor. All nodes start unarmed, unmarked, and hidden.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     */
+    public BitBoardLandGrid( int rows, int columns ) {
+        super( rows, columns );
+        wordsPerRow = (columns + 63) / 64;
+        lastWordMask = (columns % 64 == 0) ? -1L : (1L << (columns % 64)) - 1;
+        
+        armed = new long[rows * wordsPerRow];
+        revealed = new long[rows * wordsPerRow];
+        proximity = new long[4][rows * wordsPerRow];
+        marking = new long[2][rows * wordsPerRow];
+        
+    } // End of BitBoardLandGrid( )
+    
+    /**
+     * This function is used to find the word of a node in a plane.
+     * 
+     * @param index The index of the node.
+     * @return The position of the word in the plane.
+     */
+    private int getWord( int index ) {
+        return (index / columns) * wordsPerRow + (index % columns) / 64;
+        
+    } // End of getWord( )
+    
+    /**
+     * This function is used to read the packed bits of a single node by 
+     * gathering one bit from each plane.
+     * 
+     * @param index The index of the node.
+     * @return The packed cell bits.
+     */
+    @Override
+    protected int getCell( int index ) {
+        int word = getWord( index );
+        int bit = (index % columns) % 64;
+        
+        int cell = 0;
+        for( int i = 0; i < proximity.length; i++ ) {
+            cell |= (int)((proximity[i][word] >>> bit) & 1L) << i;
+        }
+        cell |= (int)((armed[word] >>> bit) & 1L) * ARMED_BIT;
+        cell |= (int)((revealed[word] >>> bit) & 1L) * REVEALED_BIT;
+        for( int i = 0; i < marking.length; i++ ) {
+            cell |= (int)((marking[i][word] >>> bit) & 1L) 
+                    << (MARKING_SHIFT + i);
+        }
+        
+        return cell;
+        
+    } // End of getCell( )
+    
+    /**
+     * This function is used to write the packed bits of a single node by 
+     * scattering them over the planes.
+     * 
+     * @param index The index of the node.
+     * @param cell The packed cell bits.
+     */
+    @Override
+    protected void setCell( int index, int cell ) {
+        int word = getWord( index );
+        long bit = 1L << ((index % columns) % 64);
+        
+        for( int i = 0; i < proximity.length; i++ ) {
+            setBit( proximity[i], word, bit, (cell & (1 << i)) != 0 );
+        }
+        setBit( armed, word, bit, (cell & ARMED_BIT) != 0 );
+        setBit( revealed, word, bit, (cell & REVEALED_BIT) != 0 );
+        for( int i = 0; i < marking.length; i++ ) {
+            setBit( marking[i], word, bit, 
+                    (cell & (1 << (MARKING_SHIFT + i))) != 0 );
+        }
+        
+    } // End of setCell( )
+    
+    /**
+     * This function is used to set or clear a single bit of a plane.
+     * 
+     * @param plane The plane to change.
+     * @param word The position of the word in the plane.
+     * @param bit The bit mask of the node within the word.
+     * @param value True to set the bit, false to clear it.
+     */
+    private static void setBit( long[] plane, int word, long bit, 
+                                boolean value ) {
+        plane[word] = value ? (plane[word] | bit) : (plane[word] & ~bit);
+        
+    } // End of setBit( )
+    
+    /**
+     * This function is used to reset every node back to an unarmed, unmarked, 
+     * and hidden state.
+     */
+    @Override
+    public void clear( ) {
+        Arrays.fill( armed, 0L );
+        Arrays.fill( revealed, 0L );
+        for( long[] plane : proximity ) {
+            Arrays.fill( plane, 0L );
+        }
+        for( long[] plane : marking ) {
+            Arrays.fill( plane, 0L );
+        }
+        
+    } // End of clear( )
+    
+    /**
+     * This function is used to compute the proximity count of every node from 
+     * the armed plane in one pass. For each row the eight neighbor masks are 
+     * built with shifts and added into a 4 bit counter that is spread over the 
+     * proximity planes, so 64 nodes are counted at a time.
+     */
+    @Override
+    public void computeProximity( ) {
+        // The 4 bit counter of a word, lowest bit first.
+        long[] counter = new long[proximity.length];
+        for( int row = 0; row < rows; row++ ) {
+            for( int w = 0; w < wordsPerRow; w++ ) {
+                Arrays.fill( counter, 0L );
+                // Add the three neighbor masks of the rows above and below, 
+                // then the left and right neighbors of the row itself.
+                for( int y = Math.max( 0, row - 1 ); 
+                     y <= Math.min( rows - 1, row + 1 ); y++ ) {
+                    add( counter, westOf(armed, y, w) );
+                    add( counter, eastOf(armed, y, w) );
+                    if( y != row ) {
+                        add( counter, armed[y * wordsPerRow + w] );
+                    }
+                }
+                int word = row * wordsPerRow + w;
+                for( int i = 0; i < proximity.length; i++ ) {
+                    proximity[i][word] = counter[i];
+                }
+            }
+        }
+        
+    } // End of computeProximity( )
+    
+    /**
+     * This function is used to add a one bit mask into a bit-sliced counter. 
+     * Each bit of the mask is added to the counter of its own column.
+     * 
+     * @param counter The counter planes, lowest bit first.
+     * @param mask The mask to add.
+     */
+    private static void add( long[] counter, long mask ) {
+        long carry = mask;
+        // Ripple the carry up through the counter.
+        for( int i = 0; i < counter.length && carry != 0; i++ ) {
+            long next = counter[i] & carry;
+            counter[i] ^= carry;
+            carry = next;
+        }
+        
+    } // End of add( )
+    
+    /**
+     * This function is used to get the mask of the nodes whose west (left) 
+     * neighbor is set in a plane.
+     * 
+     * @param plane The plane to read.
+     * @param row The row to read.
+     * @param w The word within the row.
+     * @return The shifted mask.
+     */
+    private long westOf( long[] plane, int row, int w ) {
+        int word = row * wordsPerRow + w;
+        long carry = (w > 0) ? (plane[word - 1] >>> 63) : 0L;
+        
+        return ((plane[word] << 1) | carry) & getValidMask( w );
+        
+    } // End of westOf( )
+    
+    /**
+     * This function is used to get the mask of the nodes whose east (right) 
+     * neighbor is set in a plane.
+     * 
+     * @param plane The plane to read.
+     * @param row The row to read.
+     * @param w The word within the row.
+     * @return The shifted mask.
+     */
+    private long eastOf( long[] plane, int row, int w ) {
+        int word = row * wordsPerRow + w;
+        long carry = (w < wordsPerRow - 1) ? (plane[word + 1] << 63) : 0L;
+        
+        return (plane[word] >>> 1) | carry;
+        
+    } // End of eastOf( )
+    
+    /**
+     * This function gets the mask of the columns that exist in a word.
+     * 
+     * @param w The word within a row.
+     * @return The mask of valid columns.
+     */
+    private long getValidMask( int w ) {
+        return (w == wordsPerRow - 1) ? lastWordMask : -1L;
+        
+    } // End of getValidMask( )
+    
+    /**
+     * This function is used to find the opening around a node without nearby 
+     * mines. Starting from the node, the mask is grown to all eight neighbors 
+     * of every empty node in it until it stops changing. Only the rows the 
+     * mask could have reached are touched on each round.
+     * 
+     * The returned plane is reused by the next call.
+     * 
+     * @param index The index of a node without nearby mines.
+     * @return A plane with a bit set for every node of the opening.
+     */
+    public long[] getOpening( int index ) {
+        if( opening == null ) {
+            opening = new long[armed.length];
+        }
+        Arrays.fill( opening, 0L );
+        opening[getWord( index )] = 1L << ((index % columns) % 64);
+        
+        int top = index / columns;
+        int bottom = top;
+        boolean changed = true;
+        while( changed ) {
+            changed = false;
+            // The opening can grow by at most one row each way per round.
+            int from = Math.max( 0, top - 1 );
+            int to = Math.min( rows - 1, bottom + 1 );
+            for( int row = from; row <= to; row++ ) {
+                for( int w = 0; w < wordsPerRow; w++ ) {
+                    long grown = grow( row, w );
+                    int word = row * wordsPerRow + w;
+                    if( (grown & ~opening[word]) != 0 ) {
+                        opening[word] |= grown;
+                        changed = true;
+                        top = Math.min( top, row );
+                        bottom = Math.max( bottom, row );
+                    }
+                }
+            }
+        }
+        
+        return opening;
+        
+    } // End of getOpening( )
+    
+    /**
+     * This function is used to get the nodes of a word that touch an empty 
+     * node already in the opening, including the empty nodes themselves.
+     * 
+     * @param row The row of the word.
+     * @param w The word within the row.
+     * @return The mask of nodes reached from the opening.
+     */
+    private long grow( int row, int w ) {
+        long grown = 0L;
+        for( int y = Math.max( 0, row - 1 ); 
+             y <= Math.min( rows - 1, row + 1 ); y++ ) {
+            int word = y * wordsPerRow + w;
+            long empty = getEmpty( word );
+            // Empty nodes of the opening in this word and its neighbors.
+            long center = opening[word] & empty;
+            long west = (w > 0) ? 
+                    opening[word - 1] & getEmpty( word - 1 ) : 0L;
+            long east = (w < wordsPerRow - 1) ? 
+                    opening[word + 1] & getEmpty( word + 1 ) : 0L;
+            // Spread them one column each way.
+            grown |= center | (center << 1) | (west >>> 63) 
+                            | (center >>> 1) | (east << 63);
+        }
+        
+        return grown & getValidMask( w );
+        
+    } // End of grow( )
+    
+    /**
+     * This function gets the mask of nodes in a word that are safe and have 
+     * no nearby mines.
+     * 
+     * @param word The position of the word in the planes.
+     * @return The mask of empty nodes.
+     */
+    private long getEmpty( int word ) {
+        return ~( armed[word] | proximity[0][word] | proximity[1][word] 
+                  | proximity[2][word] | proximity[3][word] );
+        
+    } // End of getEmpty( )
+    
+    /**
+     * This function is used to map a word and bit of a plane back to the 
+     * index of a node.
+     * 
+     * @param word The position of the word in the plane.
+     * @param bit The bit within the word.
+     * @return The index of the node.
+     */
+    public int getIndex( int word, int bit ) {
+        return (word / wordsPerRow) * columns + (word % wordsPerRow) * 64 + bit;
+        
+    } // End of getIndex( )
+    
+} // End of BitBoardLandGrid class.
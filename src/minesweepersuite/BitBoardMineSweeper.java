@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+/**
+ * This is a version of the MineSweeper model built on a BitBoardLandGrid. It 
+ * plays exactly the same, but the proximity counts are computed 64 nodes at a 
+ * time and openings are found by growing a bit mask instead of being labeled 
+ * up front. This keeps every game down to a few bits per node, which suits 
+ * simulations that run a lot of boards at once.
+ * 
+ * Since the openings are never labeled, getOpeningsRemaining( ) always 
+ * returns 0 for this model.
+ * 
+ * @author Nicholas Moss
+ */
+public class BitBoardMineSweeper extends MineSweeper {
+    
+    /**
+     * Default constructor. Initializes variables to null.
+     */
+    public BitBoardMineSweeper( ) {
+        super( );
+        
+    } // End of BitBoardMineSweeper( )
+    
+    /**
+     * A constructor. Initializes variables to null and sets no identifier for 
+     * this object.
+     * 
+     * @param adapter The MineSweeperAdapter (Adapter) object used to interface 
+     * with the MineSweeper (Model) object.
+     */
+    public BitBoardMineSweeper( MineSweeperAdapter adapter ) {
+        super( adapter );
+        
+    } // End of BitBoardMineSweeper( )
+    
+    /**
+     * This function is used to create the bit plane grid of the game.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @return A new, empty BitBoardLandGrid.
+     */
+    @Override
+    protected LandGrid newLandGrid( int rows, int columns ) {
+        return new BitBoardLandGrid( rows, columns );
+        
+    } // End of newLandGrid( )
+    
+    /**
+     * This function is used to generate the proximity values of every node 
+     * straight from the armed plane.
+     */
+    @Override
+    protected void generateProximityValues( ) {
+        ((BitBoardLandGrid)getLandGrid( )).computeProximity( );
+        
+    } // End of generateProximityValues( )
+    
+    /**
+     * The openings are found on demand, so there is nothing to label.
+     */
+    @Override
+    protected void labelOpenings( ) {
+        
+    } // End of labelOpenings( )
+    
+    /**
+     * This function is used to reveal the whole opening around a node without 
+     * any nearby mines. Marked nodes are left alone.
+     * 
+     * @param index The index of a node without nearby mines.
+     */
+    @Override
+    protected void revealOpening( int index ) {
+        BitBoardLandGrid grid = (BitBoardLandGrid)getLandGrid( );
+        long[] opening = grid.getOpening( index );
+        
+        // Walk the set bits of every word of the opening.
+        for( int word = 0; word < opening.length; word++ ) {
+            long bits = opening[word];
+            while( bits != 0 ) {
+                int node = grid.getIndex( word, 
+                                          Long.numberOfTrailingZeros(bits) );
+                bits &= bits - 1;
+                if( grid.isRevealed(node) || 
+                    grid.getMarking(node) != Marking.NOT_MARKED ) {
+                    continue;
+                }
+                revealSafeNode( node );
+            }
+        }
+        
+    } // End of revealOpening( )
+    
+    /**
+     * The bit planes only shift to square neighbors, so only square boards 
+     * can be played.
+     * 
+     * @param topology The Topology of the board.
+     * @return True if the topology is square.
+     */
+    @Override
+    protected boolean supportsTopology( Topology topology ) {
+        return topology == Topology.SQUARE;
+        
+    } // End of supportsTopology( )
+    
+} // End of BitBoardMineSweeper class.
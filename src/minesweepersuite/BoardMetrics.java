@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This class holds how hard a board is to clear, measured from its mines 
+ * alone. It counts the openings, the numbers that don't touch an opening, and 
+ * from those the Bechtel's Board Benchmark Value (3BV). The 3BV is the least 
+ * number of clicks that clears the board without flags: one for each opening 
+ * and one for each of those isolated numbers. Dividing it by the time taken 
+ * gives a speed that can be compared across boards of any size.
+ * 
+ * The board is measured in one pass over the nodes in index order. Openings 
+ * are joined with a union find over labels, and only the labels of the last 
+ * few rows are kept, so the pass needs little memory on top of the grid.
+ * 
+ * @author Nicholas Moss
+ */
+public class BoardMetrics implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    // The ring entries of nodes that don't belong to an opening.
+    private static final int NOT_OPENING = -1;
+    private static final int ISOLATED_NUMBER = -2;
+    
+    private final int openings;
+    private final int isolatedNumbers;
+    
+    /**
+     * Default constructor.
+     * 
+     * @param openings The number of openings on the board.
+     * @param isolatedNumbers The number of numbers not next to an opening.
+     */
+    public BoardMetrics( int openings, int isolatedNumbers ) {
+        this.openings = openings;
+        this.isolatedNumbers = isolatedNumbers;
+        
+    } // End of BoardMetrics( )
+    
+    /**
+     * This function is used to measure a board with its mines in place. Each 
+     * node is looked at once, along with the neighbors that come before it.
+     * An opening joins up with the openings before it, and takes any number 
+     * before it out of the isolated count. A number is isolated for now if 
+     * nothing before it is an opening.
+     * 
+     * @param grid The grid of the board.
+     * @param adjacency The AdjacencyTable of the board.
+     * @return The BoardMetrics of the board.
+     */
+    public static BoardMetrics measure( LandGrid grid, 
+                                        AdjacencyTable adjacency ) {
+        // Every neighbor before a node is at most this far back.
+        int ringSize = Math.min( adjacency.getReach() + 1, grid.getSize() );
+        int[] ring = new int[ringSize];
+        int[] parents = new int[64];
+        int[] adjacent = new int[AdjacencyTable.MAX_ADJACENT];
+        int labels = 0;
+        int openings = 0;
+        int isolated = 0;
+        
+        for( int index = 0; index < grid.getSize(); index++ ) {
+            int slot = index % ringSize;
+            if( grid.isArmed(index) ) {
+                ring[slot] = NOT_OPENING;
+                continue;
+            }
+            boolean opening = grid.getProximityCount( index ) == 0;
+            int label = NOT_OPENING;
+            int count = adjacency.getAdjacent( index, adjacent );
+            for( int i = 0; i < count; i++ ) {
+                int node = adjacent[i];
+                if( node > index )
+                    continue;
+                int before = ring[node % ringSize];
+                if( !opening ) {
+                    // A number next to an opening is cleared along with it.
+                    if( before >= 0 )
+                        label = before;
+                    continue;
+                }
+                if( before == ISOLATED_NUMBER ) {
+                    ring[node % ringSize] = NOT_OPENING;
+                    isolated--;
+                }
+                else if( before >= 0 ) {
+                    // Join the openings, one fewer if they were apart.
+                    if( label == NOT_OPENING ) {
+                        label = find( parents, before );
+                    }
+                    else {
+                        int root = find( parents, before );
+                        if( root != label ) {
+                            parents[root] = label;
+                            openings--;
+                        }
+                    }
+                }
+            }
+            if( !opening ) {
+                ring[slot] = ( label == NOT_OPENING ) ? ISOLATED_NUMBER 
+                                                      : NOT_OPENING;
+                if( label == NOT_OPENING )
+                    isolated++;
+                continue;
+            }
+            // An opening with nothing before it starts a new label.
+            if( label == NOT_OPENING ) {
+                if( labels == parents.length )
+                    parents = Arrays.copyOf( parents, labels * 2 );
+                parents[labels] = labels;
+                label = labels++;
+                openings++;
+            }
+            ring[slot] = label;
+        }
+        
+        return new BoardMetrics( openings, isolated );
+        
+    } // End of measure( )
+    
+    /**
+     * This function is used to find the root label of an opening. It halves 
+     * the path to the root as it goes.
+     * 
+     * @param parents The parent of every label.
+     * @param label The label to find the root of.
+     * @return The root label.
+     */
+    private static int find( int[] parents, int label ) {
+        while( parents[label] != label ) {
+            parents[label] = parents[parents[label]];
+            label = parents[label];
+        }
+        
+        return label;
+        
+    } // End of find( )
+    
+    /**
+     * This function gets the number of openings on the board.
+     * 
+     * @return The number of openings.
+     */
+    public int getOpenings( ) {
+        return openings;
+        
+    } // End of getOpenings( )
+    
+    /**
+     * This function gets the number of numbers that don't touch an opening. 
+     * Each of them has to be clicked on its own.
+     * 
+     * @return The number of isolated numbers.
+     */
+    public int getIsolatedNumbers( ) {
+        return isolatedNumbers;
+        
+    } // End of getIsolatedNumbers( )
+    
+    /**
+     * This function gets the Bechtel's Board Benchmark Value of the board.
+     * 
+     * @return The 3BV of the board.
+     */
+    public int getThreeBV( ) {
+        return openings + isolatedNumbers;
+        
+    } // End of getThreeBV( )
+    
+    /**
+     * This function is used to work out how fast a board was cleared.
+     * 
+     * @param time The elapsed game time in milliseconds.
+     * @return The 3BV cleared per second.
+     */
+    public double getThreeBVPerSecond( long time ) {
+        return getThreeBV( ) * 1000.0 / Math.max( time, 1 );
+        
+    } // End of getThreeBVPerSecond( )
+    
+    /**
+     * An overridden toString() method to dump the contents if we need it.
+     * 
+     * @return A string representing the object.
+     */
+    @Override
+    public String toString( ) {
+        return getThreeBV() + ":" + openings + ":" + isolatedNumbers;
+        
+    } // End of toString( )
+    
+} // End of BoardMetrics class.
@@ -0,0 +1,232 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * This class is a LandGrid stored outside of the Java heap. Every cell is a 
+ * single byte of a direct ByteBuffer, so a large grid is one small object on 
+ * the heap no matter how many cells it has and the garbage collector never 
+ * has to copy or scan the cells. The buffer is given back as soon as 
+ * release( ) is called instead of whenever the collector gets to it.
+ * 
+ * @author Nicholas Moss
+ */
+public class DirectLandGrid extends LandGrid {
+    
+    // The method used to free a direct buffer right away, if there is one.
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+    
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName( "sun.misc.Unsafe" );
+            Field field = unsafeClass.getDeclaredField( "theUnsafe" );
+            field.setAccessible( true );
+            unsafe = field.get( null );
+            invokeCleaner = unsafeClass.getMethod( "invokeCleaner", 
+                                                   ByteBuffer.class );
+        }
+        catch( ReflectiveOperationException | RuntimeException ex ) {
+            // Older JVMs free the buffer once it can't be reached instead.
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+    
+    // Number of cells copied through the heap at a time when serialized.
+    private static final int STREAM_CHUNK = 64 * 1024;
+    
+    // One byte per cell, indexed by (offset + row * columns + column).
+    private transient ByteBuffer cells;
+    private final int offset;
+    
+    /**
+     * Default constructor. All cells start unarmed, unmarked, and hidden.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     */
+    public DirectLandGrid( int rows, int columns ) {
+        this( rows, columns, ByteBuffer.allocateDirect(rows * columns), 0 );
+        
+    } // End of DirectLandGrid( )
+    
+    /**
+     * A constructor. Stores the cells in a buffer made by a subclass, which 
+     * can keep some bytes of its own in front of the cells.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @param cells A buffer of at least (offset + rows * columns) bytes.
+     * @param offset The position of the first cell in the buffer.
+     */
+    protected DirectLandGrid( int rows, int columns, ByteBuffer cells, 
+                              int offset ) {
+        super( rows, columns );
+        this.cells = cells;
+        this.offset = offset;
+        
+    } // End of DirectLandGrid( )
+    
+    /**
+     * This function is used to read the packed bits of a single cell.
+     * 
+     * @param index The index of the cell.
+     * @return The packed cell bits.
+     */
+    @Override
+    protected int getCell( int index ) {
+        return cells.get( offset + index ) & 0xFF;
+        
+    } // End of getCell( )
+    
+    /**
+     * This function is used to write the packed bits of a single cell.
+     * 
+     * @param index The index of the cell.
+     * @param cell The packed cell bits.
+     */
+    @Override
+    protected void setCell( int index, int cell ) {
+        cells.put( offset + index, (byte)cell );
+        
+    } // End of setCell( )
+    
+    /**
+     * This function is used to reset every cell back to an unarmed, unmarked, 
+     * and hidden state. It clears eight cells at a time.
+     */
+    @Override
+    public void clear( ) {
+        int size = offset + getSize( );
+        int index = offset;
+        for( ; index + Long.BYTES <= size; index += Long.BYTES ) {
+            cells.putLong( index, 0L );
+        }
+        for( ; index < size; index++ ) {
+            cells.put( index, (byte)0 );
+        }
+        
+    } // End of clear( )
+    
+    /**
+     * This function is used to free the buffer right away. The grid can't be 
+     * used afterwards.
+     */
+    @Override
+    public void release( ) {
+        if( cells != null && INVOKE_CLEANER != null ) {
+            try {
+                INVOKE_CLEANER.invoke( UNSAFE, cells );
+            }
+            catch( ReflectiveOperationException | RuntimeException ex ) {
+                // Leave it to the collector.
+            }
+        }
+        cells = null;
+        
+    } // End of release( )
+    
+    /**
+     * This function is used to reset the grid in place for a new game. A grid
+     *  that was released has no buffer left to reuse.
+     * 
+     * @param rows The number of rows of the new game.
+     * @param columns The number of columns of the new game.
+     * @return True if the grid was reset, false if a new grid is needed.
+     */
+    @Override
+    public boolean reuse( int rows, int columns ) {
+        return cells != null && super.reuse( rows, columns );
+        
+    } // End of reuse( )
+    
+    /**
+     * This function is used to get the buffer holding the cells.
+     * 
+     * @return The buffer of cells, or null once it was released.
+     */
+    protected ByteBuffer getCells( ) {
+        return cells;
+        
+    } // End of getCells( )
+    
+    /**
+     * This function writes the cells out with the rest of the grid, since the 
+     * buffer itself can't be serialized. The cells pass through one small 
+     * heap buffer a chunk at a time, so a grid too big for the heap can still 
+     * be saved.
+     * 
+     * @param out The stream to write to.
+     * @throws IOException If the stream can't be written to.
+     */
+    private void writeObject( ObjectOutputStream out ) throws IOException {
+        out.defaultWriteObject( );
+        byte[] chunk = new byte[ Math.min(getSize(), STREAM_CHUNK) ];
+        // Read through a duplicate so the position of the grid is left alone.
+        ByteBuffer source = cells.duplicate( );
+        source.position( offset );
+        for( int done = 0; done < getSize(); done += chunk.length ) {
+            int count = Math.min( chunk.length, getSize() - done );
+            source.get( chunk, 0, count );
+            out.write( chunk, 0, count );
+        }
+        
+    } // End of writeObject( )
+    
+    /**
+     * This function reads the cells back into a new direct buffer.
+     * 
+     * @param in The stream to read from.
+     * @throws IOException If the stream can't be read from.
+     * @throws ClassNotFoundException If a class of the grid can't be found.
+     */
+    private void readObject( ObjectInputStream in ) 
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject( );
+        byte[] chunk = new byte[ Math.min(getSize(), STREAM_CHUNK) ];
+        cells = ByteBuffer.allocateDirect( offset + getSize() );
+        cells.position( offset );
+        for( int done = 0; done < getSize(); done += chunk.length ) {
+            int count = Math.min( chunk.length, getSize() - done );
+            in.readFully( chunk, 0, count );
+            cells.put( chunk, 0, count );
+        }
+        
+    } // End of readObject( )
+    
+} // End of DirectLandGrid class.
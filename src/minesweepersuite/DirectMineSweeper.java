@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+/**
+ * This is a version of the MineSweeper model built on a DirectLandGrid. It 
+ * plays exactly the same, but the cells of the grid live outside of the Java 
+ * heap and are freed when the game is cleared. When a lot of large games run 
+ * at once the heap only holds the small objects of each game, so collection 
+ * pauses no longer grow with the total board area.
+ * 
+ * @author Nicholas Moss
+ */
+public class DirectMineSweeper extends MineSweeper {
+    
+    /**
+     * Default constructor. Initializes variables to null.
+     */
+    public DirectMineSweeper( ) {
+        super( );
+        
+    } // End of DirectMineSweeper( )
+    
+    /**
+     * A constructor. Initializes variables to null and sets no identifier for 
+     * this object.
+     * 
+     * @param adapter The MineSweeperAdapter (Adapter) object used to interface 
+     * with the MineSweeper (Model) object.
+     */
+    public DirectMineSweeper( MineSweeperAdapter adapter ) {
+        super( adapter );
+        
+    } // End of DirectMineSweeper( )
+    
+    /**
+     * This function is used to create the off heap grid of the game.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @return A new, empty DirectLandGrid.
+     */
+    @Override
+    protected LandGrid newLandGrid( int rows, int columns ) {
+        return new DirectLandGrid( rows, columns );
+        
+    } // End of newLandGrid( )
+    
+    /**
+     * The off heap grid packs the proximity counts into its cells, so a node 
+     * can't have more adjacent nodes than a packed count can hold.
+     * 
+     * @param topology The Topology of the board.
+     * @return True if the proximity counts of the topology fit the cells.
+     */
+    @Override
+    protected boolean supportsTopology( Topology topology ) {
+        return topology.getMaxAdjacent() <= LandGrid.MAX_PROXIMITY_COUNT;
+        
+    } // End of supportsTopology( )
+    
+} // End of DirectMineSweeper class.
@@ -0,0 +1,538 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This is an endless game of mine sweeper. The playing grid has no edges and 
+ * is split into LandChunk objects that are only created once they are needed.
+ * A chunk is armed the first time it or one of its neighbors is touched, and 
+ * its proximity values are counted the first time one of its own nodes is 
+ * touched. Memory and generation cost follow the explored area instead of the 
+ * board area.
+ * 
+ * Node coordinates are (x, y) like the rest of the model, but can be negative.
+ * There is no way to win an endless game.
+ * 
+ * @author Nicholas Moss
+ */
+public class EndlessMineSweeper implements Serializable {
+    
+    // Lowest allowed mine density. Openings can grow without end below this.
+    private static final double MIN_ENDLESS_MINE_PERCENT = 0.15;
+    // The (x, y) offsets of the adjacent nodes.
+    private static final int[] ADJACENT_X = { -1, 0, 1, -1, 1, -1, 0, 1 };
+    private static final int[] ADJACENT_Y = { -1, -1, -1, 0, 0, 1, 1, 1 };
+    
+    // Reference to whatever is shown the game.
+    private transient EndlessListener listener;
+    
+    // Game parameters
+    private long seed;
+    private int minesPerChunk;
+    
+    // Game details.
+    private final HashMap<Long, LandChunk> chunks;
+    private int[] safeCoordinate;
+    private int[] revealStack;
+    private int revealedCount;
+    private int markingCount;
+    private boolean gameOver;
+    
+    /**
+     * A constructor. Sets the listener and leaves the game without parameters.
+     * 
+     * @param listener The EndlessListener told about revealed nodes and the 
+     * end of the game.
+     */
+    public EndlessMineSweeper( EndlessListener listener ) {
+        this.listener = listener;
+        chunks = new HashMap<>( );
+        minesPerChunk = 0;
+        clearGame( );
+        
+    } // End of EndlessMineSweeper( )
+    
+    /**
+     * This function is used to set the game parameters with a random seed.
+     * 
+     * @param minesPerChunk The number of mines in every chunk.
+     * @return An ArrayList of GameStatus errors, or null if the parameters were
+     *  accepted.
+     */
+    public ArrayList<GameStatus> setGameParams( int minesPerChunk ) {
+        return setGameParams( minesPerChunk, 
+                              ThreadLocalRandom.current().nextLong() );
+        
+    } // End of setGameParams( )
+    
+    /**
+     * This function is used to set the game parameters. The same seed and mine
+     *  count always make the same endless grid.
+     * 
+     * @param minesPerChunk The number of mines in every chunk.
+     * @param seed The seed every chunk is derived from.
+     * @return An ArrayList of GameStatus errors, or null if the parameters were
+     *  accepted.
+     */
+    public ArrayList<GameStatus> setGameParams( int minesPerChunk, long seed ) {
+        ArrayList<GameStatus> errors = new ArrayList<>();
+        
+        if( minesPerChunk > LandChunk.CHUNK_AREA * 
+                            ModelAPI.MAX_MINE_PERCENT )
+            errors.add( GameStatus.MINES_ABOVE_MAX );
+        if( minesPerChunk < LandChunk.CHUNK_AREA * MIN_ENDLESS_MINE_PERCENT )
+            errors.add( GameStatus.MINES_BELOW_MIN );
+        
+        // If there were no errors set the params and start over.
+        if( errors.isEmpty() ) {
+            this.minesPerChunk = minesPerChunk;
+            this.seed = seed;
+            clearGame( );
+            return null;
+        }
+        
+        return errors;
+        
+    } // End of setGameParams( )
+    
+    /**
+     * This function is used to set the listener told about the game.
+     * 
+     * @param listener The EndlessListener to report to.
+     */
+    public void setListener( EndlessListener listener ) {
+        this.listener = listener;
+        
+    } // End of setListener( )
+    
+    /**
+     * This function is used to get the seed of the game.
+     * 
+     * @return The seed every chunk is derived from.
+     */
+    public long getSeed( ) {
+        return seed;
+        
+    } // End of getSeed( )
+    
+    /**
+     * This function is used to throw away every chunk and start over. The seed
+     *  and mine count are kept.
+     */
+    public void clearGame( ) {
+        chunks.clear( );
+        safeCoordinate = null;
+        revealStack = null;
+        revealedCount = 0;
+        markingCount = 0;
+        gameOver = false;
+        
+    } // End of clearGame( )
+    
+    /**
+     * This function is used to check a node the user clicked on. The first 
+     * node checked is the center of the safe zone.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     */
+    public void checkNode( int[] coordinate ) {
+        if( gameOver ) {
+            return;
+        }
+        if( safeCoordinate == null ) {
+            safeCoordinate = coordinate.clone( );
+        }
+        int x = coordinate[0];
+        int y = coordinate[1];
+        LandChunk chunk = getCountedChunk( x, y );
+        int index = LandChunk.getLocalIndex( x, y );
+        // Marked and revealed nodes can't be checked.
+        if( chunk.isRevealed(index) || 
+            chunk.getMarking(index) != Marking.NOT_MARKED ) {
+            return;
+        }
+        if( chunk.isArmed(index) ) {
+            chunk.revealNode( index );
+            loseGame( coordinate );
+            return;
+        }
+        revealSafeNode( chunk, x, y );
+        if( chunk.getProximityCount(index) == 0 ) {
+            floodOpening( x, y );
+        }
+        
+    } // End of checkNode( )
+    
+    /**
+     * This function is used to reveal the nearby nodes of a revealed node once 
+     * the user marked as many nearby nodes as it has nearby mines.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     */
+    public void revealNearbyNodes( int[] coordinate ) {
+        // Nothing is revealed before the safe zone is known.
+        if( safeCoordinate == null ) {
+            return;
+        }
+        int x = coordinate[0];
+        int y = coordinate[1];
+        LandChunk center = getCountedChunk( x, y );
+        int centerIndex = LandChunk.getLocalIndex( x, y );
+        if( gameOver || !center.isRevealed(centerIndex) ) {
+            return;
+        }
+        // Count the nearby marked nodes.
+        int markedCount = 0;
+        for( int i = 0; i < ADJACENT_X.length; i++ ) {
+            int nx = x + ADJACENT_X[i];
+            int ny = y + ADJACENT_Y[i];
+            if( getCountedChunk(nx, ny).getMarking(LandChunk.getLocalIndex(nx,
+                    ny)) == Marking.MARKED ) {
+                markedCount++;
+            }
+        }
+        if( markedCount != center.getProximityCount(centerIndex) ) {
+            return;
+        }
+        
+        // Reveal everything nearby that isn't marked or revealed.
+        for( int i = 0; i < ADJACENT_X.length; i++ ) {
+            int nx = x + ADJACENT_X[i];
+            int ny = y + ADJACENT_Y[i];
+            LandChunk chunk = getCountedChunk( nx, ny );
+            int index = LandChunk.getLocalIndex( nx, ny );
+            if( chunk.getMarking(index) != Marking.NOT_MARKED || 
+                chunk.isRevealed(index) ) {
+                continue;
+            }
+            // A wrongly placed flag means we just stepped on a mine.
+            if( chunk.isArmed(index) ) {
+                chunk.revealNode( index );
+                loseGame( new int[] {nx, ny} );
+                return;
+            }
+            revealSafeNode( chunk, nx, ny );
+            if( chunk.getProximityCount(index) == 0 ) {
+                floodOpening( nx, ny );
+            }
+        }
+        
+    } // End of revealNearbyNodes( )
+    
+    /**
+     * This function is used to cycle the marking of a hidden node.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @return The new Marking of the node.
+     */
+    public Marking nextMarking( int[] coordinate ) {
+        // Nothing can be marked before the safe zone is known.
+        if( safeCoordinate == null ) {
+            return Marking.NOT_MARKED;
+        }
+        LandChunk chunk = getChunk( LandChunk.getChunk(coordinate[0]), 
+                                    LandChunk.getChunk(coordinate[1]) );
+        int index = LandChunk.getLocalIndex( coordinate[0], coordinate[1] );
+        if( gameOver || chunk.isRevealed(index) ) {
+            return chunk.getMarking( index );
+        }
+        Marking marking = chunk.nextMarking( index );
+        // Keep the running count of marked nodes.
+        if( marking == Marking.MARKED ) {
+            markingCount++;
+        }
+        else if( marking == Marking.QUESTIONED ) {
+            markingCount--;
+        }
+        
+        return marking;
+        
+    } // End of nextMarking( )
+    
+    /**
+     * This function is used to end the game after a mine was stepped on. The 
+     * listener can ask for getMineLocations( ) to show the mines.
+     * 
+     * @param coordinate The (x, y) coordinate of the losing move.
+     */
+    public void loseGame( int[] coordinate ) {
+        gameOver = true;
+        listener.loseGame( coordinate[0], coordinate[1] );
+        
+    } // End of loseGame( )
+    
+    /**
+     * This function is used to get the mines of every chunk that has had its 
+     * proximity values counted.
+     * 
+     * @return An int[][] array of the (x, y) coordinates of the mines.
+     */
+    public int[][] getMineLocations( ) {
+        ArrayList<int[]> locations = new ArrayList<>();
+        for( LandChunk chunk : chunks.values() ) {
+            if( !chunk.isCounted() ) {
+                continue;
+            }
+            for( int index = 0; index < LandChunk.CHUNK_AREA; index++ ) {
+                if( chunk.isArmed(index) ) {
+                    locations.add( new int[] {
+                        chunk.getChunkX() * LandChunk.CHUNK_SIZE + 
+                                index % LandChunk.CHUNK_SIZE,
+                        chunk.getChunkY() * LandChunk.CHUNK_SIZE + 
+                                index / LandChunk.CHUNK_SIZE } );
+                }
+            }
+        }
+        
+        return locations.toArray( new int[locations.size()][] );
+        
+    } // End of getMineLocations( )
+    
+    /**
+     * This function is used to get the proximity value of a node. It counts 
+     * the chunk of the node if it wasn't counted yet. There are no mines 
+     * before the first move, since no chunk can be armed until the safe zone 
+     * is known.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @return The number of nearby mines.
+     */
+    public int getProximityCount( int[] coordinate ) {
+        if( safeCoordinate == null ) {
+            return 0;
+        }
+        
+        return getCountedChunk( coordinate[0], coordinate[1] )
+                .getProximityCount( LandChunk.getLocalIndex(coordinate[0], 
+                                                            coordinate[1]) );
+        
+    } // End of getProximityCount( )
+    
+    /**
+     * This function is used to see if a node was revealed. Nodes in chunks 
+     * that were never created are hidden.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @return True if the node was revealed, false otherwise.
+     */
+    public boolean isRevealed( int[] coordinate ) {
+        LandChunk chunk = chunks.get( LandChunk.getKey(
+                LandChunk.getChunk(coordinate[0]), 
+                LandChunk.getChunk(coordinate[1])) );
+        
+        return chunk != null && chunk.isRevealed( 
+                LandChunk.getLocalIndex(coordinate[0], coordinate[1]) );
+        
+    } // End of isRevealed( )
+    
+    /**
+     * This function is used to get the number of chunks in memory.
+     * 
+     * @return The number of chunks created so far.
+     */
+    public int getChunkCount( ) {
+        return chunks.size( );
+        
+    } // End of getChunkCount( )
+    
+    /**
+     * This function is used to get the number of safe nodes revealed so far.
+     * 
+     * @return The number of revealed safe nodes.
+     */
+    public int getRevealedCount( ) {
+        return revealedCount;
+        
+    } // End of getRevealedCount( )
+    
+    /**
+     * This function is used to get the number of nodes marked as mines.
+     * 
+     * @return The number of marked nodes.
+     */
+    public int getMarkingCount( ) {
+        return markingCount;
+        
+    } // End of getMarkingCount( )
+    
+    /**
+     * This function is used to get a chunk with its mines armed. The chunk is 
+     * created and armed the first time it is asked for, which is never before
+     *  the first move has set the safe zone.
+     * 
+     * @param chunkX The x coordinate of the chunk.
+     * @param chunkY The y coordinate of the chunk.
+     * @return The armed chunk.
+     */
+    private LandChunk getChunk( int chunkX, int chunkY ) {
+        long key = LandChunk.getKey( chunkX, chunkY );
+        LandChunk chunk = chunks.get( key );
+        if( chunk == null ) {
+            chunk = new LandChunk( chunkX, chunkY );
+            chunk.placeMines( seed, minesPerChunk, safeCoordinate );
+            chunks.put( key, chunk );
+        }
+        
+        return chunk;
+        
+    } // End of getChunk( )
+    
+    /**
+     * This function is used to get the chunk holding a node with its proximity
+     *  values counted. The eight chunks around it are armed first so the 
+     * values along the chunk edges are right.
+     * 
+     * @param x The x node coordinate.
+     * @param y The y node coordinate.
+     * @return The counted chunk holding the node.
+     */
+    private LandChunk getCountedChunk( int x, int y ) {
+        int chunkX = LandChunk.getChunk( x );
+        int chunkY = LandChunk.getChunk( y );
+        LandChunk chunk = getChunk( chunkX, chunkY );
+        if( chunk.isCounted() ) {
+            return chunk;
+        }
+        // Arm the chunk and its neighbors, stored as around[dy * 3 + dx].
+        LandChunk[] around = new LandChunk[9];
+        for( int dy = 0; dy < 3; dy++ ) {
+            for( int dx = 0; dx < 3; dx++ ) {
+                around[dy * 3 + dx] = getChunk( chunkX + dx - 1, 
+                                                chunkY + dy - 1 );
+            }
+        }
+        // Spread every mine of the 3x3 block onto the center chunk.
+        int size = LandChunk.CHUNK_SIZE;
+        for( int block = 0; block < around.length; block++ ) {
+            LandChunk source = around[block];
+            int offsetX = ( block % 3 - 1 ) * size;
+            int offsetY = ( block / 3 - 1 ) * size;
+            for( int index = 0; index < LandChunk.CHUNK_AREA; index++ ) {
+                if( !source.isArmed(index) ) {
+                    continue;
+                }
+                int mineX = offsetX + index % size;
+                int mineY = offsetY + index / size;
+                // Skip mines that are not next to the center chunk.
+                if( mineX < -1 || mineX > size || mineY < -1 || mineY > size ) {
+                    continue;
+                }
+                for( int i = 0; i < ADJACENT_X.length; i++ ) {
+                    int nearX = mineX + ADJACENT_X[i];
+                    int nearY = mineY + ADJACENT_Y[i];
+                    if( nearX >= 0 && nearX < size && 
+                        nearY >= 0 && nearY < size ) {
+                        chunk.incrementProximityCount( nearY * size + nearX );
+                    }
+                }
+            }
+        }
+        chunk.setCounted( );
+        
+        return chunk;
+        
+    } // End of getCountedChunk( )
+    
+    /**
+     * This function is used to reveal a node that is known to be safe and to 
+     * pass it along to the listener.
+     * 
+     * @param chunk The counted chunk holding the node.
+     * @param x The x node coordinate.
+     * @param y The y node coordinate.
+     */
+    private void revealSafeNode( LandChunk chunk, int x, int y ) {
+        int index = LandChunk.getLocalIndex( x, y );
+        chunk.revealNode( index );
+        revealedCount++;
+        listener.revealNode( x, y, chunk.getProximityCount(index) );
+        
+    } // End of revealSafeNode( )
+    
+    /**
+     * This function is used to reveal the opening around a node without 
+     * nearby mines. It works through an explicit stack of (x, y) pairs and 
+     * crosses chunk edges like any other node. Each node is revealed as it is 
+     * pushed, so the revealed bit doubles as the visited set.
+     * 
+     * @param x The x coordinate of a node without nearby mines.
+     * @param y The y coordinate of a node without nearby mines.
+     */
+    private void floodOpening( int x, int y ) {
+        int top = pushReveal( x, y, 0 );
+        while( top > 0 ) {
+            top -= 2;
+            int centerX = revealStack[top];
+            int centerY = revealStack[top + 1];
+            for( int i = 0; i < ADJACENT_X.length; i++ ) {
+                int nx = centerX + ADJACENT_X[i];
+                int ny = centerY + ADJACENT_Y[i];
+                LandChunk chunk = getCountedChunk( nx, ny );
+                int index = LandChunk.getLocalIndex( nx, ny );
+                if( chunk.isRevealed(index) || 
+                    chunk.getMarking(index) != Marking.NOT_MARKED ) {
+                    continue;
+                }
+                revealSafeNode( chunk, nx, ny );
+                // Only nodes without nearby mines keep the opening going.
+                if( chunk.getProximityCount(index) == 0 ) {
+                    top = pushReveal( nx, ny, top );
+                }
+            }
+        }
+        
+    } // End of floodOpening( )
+    
+    /**
+     * This function is used to push an (x, y) pair onto the reveal stack. The 
+     * stack grows as needed and is kept for the rest of the game.
+     * 
+     * @param x The x node coordinate.
+     * @param y The y node coordinate.
+     * @param top The current number of ints on the stack.
+     * @return The new number of ints on the stack.
+     */
+    private int pushReveal( int x, int y, int top ) {
+        if( revealStack == null ) {
+            revealStack = new int[128];
+        }
+        else if( top == revealStack.length ) {
+            revealStack = Arrays.copyOf( revealStack, top * 2 );
+        }
+        revealStack[top] = x;
+        revealStack[top + 1] = y;
+        
+        return top + 2;
+        
+    } // End of pushReveal( )
+    
+} // End of EndlessMineSweeper class.
@@ -35,10 +35,21 @@ import java.io.Serializable;
  */
 public class GameParameters implements Serializable {
     
+    private static final long serialVersionUID = -1792616430119134990L;
+    
     // The game parameters
     private final Integer mines;
     private final Integer rows;
     private final Integer columns;
+    // True if the game may go past the normal axis limits.
+    private final boolean largeBoard;
+    // The seed the mines are placed from, or null if one is yet to be picked.
+    private final Long seed;
+    // The shape of the board, or null for records saved before there were 
+    // other shapes.
+    private final Topology topology;
+    // The number of layers of a cubic board.
+    private final int layers;
     
     /**
      * Default constructor.
@@ -48,9 +59,73 @@ public class GameParameters implements Serializable {
      * @param columns The number of columns in the game.
      */
     public GameParameters( int mines, int rows, int columns ) {
+        this( mines, rows, columns, false );
+        
+    } // End of GameParameters( )
+    
+    /**
+     * A constructor. Allows the game to be flagged as a large board.
+     * 
+     * @param mines The number of mines in the game.
+     * @param rows The number of rows in the game.
+     * @param columns The number of columns in the game.
+     * @param largeBoard True if the game may go past the normal axis limits.
+     */
+    public GameParameters( int mines, int rows, int columns, 
+                           boolean largeBoard ) {
+        this.mines = mines;
+        this.rows = rows;
+        this.columns = columns;
+        this.largeBoard = largeBoard;
+        this.seed = null;
+        this.topology = Topology.SQUARE;
+        this.layers = 1;
+        
+    } // End of GameParameters( )
+    
+    /**
+     * A constructor. Fixes the seed the mines are placed from, so the same 
+     * parameters and first move always give the same grid.
+     * 
+     * @param mines The number of mines in the game.
+     * @param rows The number of rows in the game.
+     * @param columns The number of columns in the game.
+     * @param largeBoard True if the game may go past the normal axis limits.
+     * @param seed The seed of the game.
+     */
+    public GameParameters( int mines, int rows, int columns, 
+                           boolean largeBoard, long seed ) {
         this.mines = mines;
         this.rows = rows;
         this.columns = columns;
+        this.largeBoard = largeBoard;
+        this.seed = seed;
+        this.topology = Topology.SQUARE;
+        this.layers = 1;
+        
+    } // End of GameParameters( )
+    
+    /**
+     * A constructor. Sets every parameter, including the shape of the board.
+     * 
+     * @param mines The number of mines in the game.
+     * @param rows The number of rows in the game.
+     * @param columns The number of columns in the game.
+     * @param largeBoard True if the game may go past the normal axis limits.
+     * @param seed The seed of the game, or null if one is yet to be picked.
+     * @param topology The Topology of the board.
+     * @param layers The number of layers of a cubic board.
+     */
+    private GameParameters( int mines, int rows, int columns, 
+                            boolean largeBoard, Long seed, 
+                            Topology topology, int layers ) {
+        this.mines = mines;
+        this.rows = rows;
+        this.columns = columns;
+        this.largeBoard = largeBoard;
+        this.seed = seed;
+        this.topology = topology;
+        this.layers = layers;
         
     } // End of GameParameters( )
     
@@ -63,9 +138,23 @@ public class GameParameters implements Serializable {
      * @param columns The number of columns in the game.
      */
     public GameParameters( String mines, String rows, String columns ) {
-        this.mines = Integer.parseInt( mines );
-        this.rows = Integer.parseInt( rows );
-        this.columns = Integer.parseInt( columns );
+        this( mines, rows, columns, false );
+
+    } // End of GameParameters( )
+    
+    /**
+     * A constructor. Parses Integers from strings and allows the game to be 
+     * flagged as a large board.
+     * 
+     * @param mines The number of mines in the game.
+     * @param rows The number of rows in the game.
+     * @param columns The number of columns in the game.
+     * @param largeBoard True if the game may go past the normal axis limits.
+     */
+    public GameParameters( String mines, String rows, String columns, 
+                           boolean largeBoard ) {
+        this( Integer.parseInt(mines), Integer.parseInt(rows), 
+              Integer.parseInt(columns), largeBoard );
 
     } // End of GameParameters( )
     
@@ -99,6 +188,96 @@ public class GameParameters implements Serializable {
         
     } // End of getColumns( )
     
+    /**
+     * This function gets the total number of nodes. It is a long since a large
+     *  board can be big enough to overflow an int before it is validated.
+     * 
+     * @return The number of rows times the number of columns.
+     */
+    public long getArea( ) {
+        return (long)rows * columns;
+        
+    } // End of getArea( )
+    
+    /**
+     * This function checks if the game may go past the normal axis limits.
+     * 
+     * @return True if this is a large board game.
+     */
+    public boolean isLargeBoard( ) {
+        return largeBoard;
+        
+    } // End of isLargeBoard( )
+    
+    /**
+     * This function checks if the seed of the game has been picked. Records 
+     * saved before seeds were kept don't have one.
+     * 
+     * @return True if there is a seed.
+     */
+    public boolean hasSeed( ) {
+        return seed != null;
+        
+    } // End of hasSeed( )
+    
+    /**
+     * This function gets the seed the mines are placed from.
+     * 
+     * @return The seed of the game, or 0 if there is none.
+     */
+    public long getSeed( ) {
+        return hasSeed( ) ? seed : 0;
+        
+    } // End of getSeed( )
+    
+    /**
+     * This function makes a copy of the parameters with the given seed.
+     * 
+     * @param seed The seed of the game.
+     * @return A new GameParameters object.
+     */
+    public GameParameters withSeed( long seed ) {
+        return new GameParameters( mines, rows, columns, largeBoard, seed, 
+                                   getTopology(), getLayers() );
+        
+    } // End of withSeed( )
+    
+    /**
+     * This function gets the shape of the board.
+     * 
+     * @return The Topology of the board.
+     */
+    public Topology getTopology( ) {
+        return ( topology == null ) ? Topology.SQUARE : topology;
+        
+    } // End of getTopology( )
+    
+    /**
+     * This function gets the number of layers the rows are split into. Only 
+     * a cubic board has more than one.
+     * 
+     * @return The number of layers of the board.
+     */
+    public int getLayers( ) {
+        return ( getTopology() == Topology.CUBIC ) ? layers : 1;
+        
+    } // End of getLayers( )
+    
+    /**
+     * This function makes a copy of the parameters on another topology. The 
+     * rows of a cubic board are split evenly into its layers, so a board of 
+     * 4 layers of 10 rows has 40 rows.
+     * 
+     * @param topology The Topology of the board.
+     * @param layers The number of layers of a cubic board, otherwise 1.
+     * @return A new GameParameters object.
+     */
+    public GameParameters withTopology( Topology topology, int layers ) {
+        return new GameParameters( mines, rows, columns, largeBoard, seed, 
+                                   topology, layers );
+        
+    } // End of withTopology( )
+    
     /**
      * This function gets the number of mines.
      * 
@@ -129,6 +308,16 @@ public class GameParameters implements Serializable {
         
     } // End of getStringColumns( )
     
+    /**
+     * This function gets the seed of the game.
+     * 
+     * @return The string of the seed, or an empty string if there is none.
+     */
+    public String getStringSeed( ) {
+        return hasSeed( ) ? seed.toString( ) : "";
+        
+    } // End of getStringSeed( )
+    
     /**
      * An overridden toString() method to dump the contents if we need it.
      * 
@@ -136,6 +325,8 @@ public class GameParameters implements Serializable {
      */
     @Override
     public String toString( ) {
+        if( hasSeed() )
+            return mines + ":" + rows + ":" + columns + ":" + seed;
         return mines + ":" + rows + ":" + columns;
         
     } // End of toString( )
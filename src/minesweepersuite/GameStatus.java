@@ -46,6 +46,11 @@ public enum GameStatus implements GameStatusInterface {
     COLUMNS_ABOVE_MAX( COLUMNS_ABOVE ),     // Columns above max threshold.
     MINES_BELOW_MIN( MINES_BELOW ),         // Mines below min threshold.
     MINES_ABOVE_MAX( MINES_ABOVE ),         // Mines above max threshold.
+    ROWS_ABOVE_LARGE_MAX( ROWS_ABOVE_LARGE ),       // Rows above large max.
+    COLUMNS_ABOVE_LARGE_MAX( COLUMNS_ABOVE_LARGE ), // Columns above large max.
+    NOT_ENOUGH_MEMORY( MEMORY ),            // Board won't fit in memory.
+    TOPOLOGY_UNSUPPORTED( TOPOLOGY ),       // Game can't use the topology.
+    LAYERS_UNEVEN( LAYERS ),                // Rows don't split into layers.
     FAILURE( FAIL ),                        // A function has failed.
     SUCCESS( PASS );                        // A function has succeeded.
     
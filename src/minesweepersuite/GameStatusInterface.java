@@ -47,6 +47,16 @@ public interface GameStatusInterface {
     public static final String MINES_ABOVE = 
             "Mines needs to be below " + MineSweeper.MAX_MINE_PERCENT*100
             + "% of area.";
+    public static final String ROWS_ABOVE_LARGE = 
+            "Rows need to be below " + MineSweeper.MAX_LARGE_AXIS_SIZE;
+    public static final String COLUMNS_ABOVE_LARGE = 
+            "Columns need to be below " + MineSweeper.MAX_LARGE_AXIS_SIZE;
+    public static final String MEMORY = 
+            "There is not enough memory for a board this size.";
+    public static final String TOPOLOGY = 
+            "This game can't be played on that kind of board.";
+    public static final String LAYERS = 
+            "Rows need to split evenly into the layers.";
     public static final String FAIL = "Something failed!";
     public static final String PASS = "Success";
     
@@ -40,6 +40,7 @@ public interface GridAPI<T> {
     public int[][] getAdjacentNodes( int[] coordinate );
     public T getGrid( );
     public T getNode( int[] coordinate );
+    public T getNode( int index );
     public boolean boundsCheck( int value, int boundary );
     
 } // End of the GridAPI interface.
@@ -42,6 +42,7 @@ public class LandButton extends JToggleButton {
     private final MineSweeperAdapter adapter;   // Reference to adapter.
     private final Icons icon;                         // Referemce to the icons.
     private final int[] coordinate;             // The (x, y) coordinate.
+    private final int index;                    // The index in the grid.
     private int proxCount;                      // Count of nearby mines.
     private Marking markingStatus;              // Enumeration of marked state.
     private boolean revealed;                   // True if node was revealed.
@@ -51,14 +52,17 @@ public class LandButton extends JToggleButton {
      * Default constructor for the button.
      * 
      * @param coordinate The (x, y) coordinate of the node.
+     * @param index The index of the node, y * columns + x.
      * @param adapter The MineSweeperAdapter object since the button is a part 
      * of the view.
      */
-    public LandButton( int[] coordinate, MineSweeperAdapter adapter ) {
+    public LandButton( int[] coordinate, int index, 
+                       MineSweeperAdapter adapter ) {
         super( );
         this.adapter = adapter;
         this.icon  = adapter.getView().getIcons( );
         this.coordinate = coordinate;
+        this.index = index;
         proxCount = 0;
         markingStatus = Marking.NOT_MARKED;
         revealed = false;
@@ -131,10 +135,35 @@ public class LandButton extends JToggleButton {
             revealed = true;
             // Disable the button for the rest of the game
             disableButton( );
-            adapter.checkNode( coordinate );
+            adapter.checkNode( index );
         }
         
     } // End of reveal( )
+    
+    /**
+     * This function is used to show the node as revealed when the model has 
+     * already revealed it, such as when an open area is uncovered. Unlike 
+     * reveal( ) it does not ask the adapter to check the node again.
+     */
+    public void showRevealed( ) {
+        revealed = true;
+        // Disable the button for the rest of the game
+        disableButton( );
+        
+    } // End of showRevealed( )
+    
+    /**
+     * This function is used to show the node as hidden again when the move 
+     * that revealed it is taken back.
+     */
+    public void coverNode( ) {
+        revealed = false;
+        this.setSelected( false );
+        this.setIcon( icon.NODE_ICON );
+        enableButton( );
+        this.repaint();
+        
+    } // End of coverNode( )
 
     /**
      * This function is used to reveal a mine that was 'stepped on'.
@@ -291,6 +320,16 @@ public class LandButton extends JToggleButton {
         
     } // End of getCoordinate( )
     
+    /**
+     * This function returns the index of the node.
+     * 
+     * @return The index of the node, y * columns + x.
+     */
+    public int getIndex( ) {
+        return index;
+        
+    } // End of getIndex( )
+    
     /**
      * This function sets the icon of the LandButton to an invalid marking icon.
      */
@@ -317,7 +356,7 @@ public class LandButton extends JToggleButton {
                     // If we are already revealed.
                     if( isRevealed() ) { 
                         // Reveal the nearby nodes.
-                        adapter.revealNearbyNodes( coordinate );
+                        adapter.revealNearbyNodes( index );
                     }
                     else {
                         // Reveal the node.
@@ -328,7 +367,7 @@ public class LandButton extends JToggleButton {
                 if( click.getButton() == MouseEvent.BUTTON3 ) {
                     if( !revealed ) {
                         // Iterate through the marking via the adapter.
-                        nextMarking( adapter.nextMarking(coordinate) );
+                        nextMarking( adapter.nextMarking(index) );
                     }
                 }
             } // End of mouseClicked( )
@@ -0,0 +1,452 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import javax.swing.JComponent;
+
+/**
+ * This class draws a whole playing grid as a single component. It is used for 
+ * large boards where a LandButton per node would need far too many Swing 
+ * components. Each node is a single byte of state and only the nodes inside 
+ * the visible region are painted.
+ * 
+ * @author Nicholas Moss
+ */
+public class LandCanvas extends JComponent {
+    
+    // The width and height of a single node in pixels.
+    public static final int NODE_SIZE = 25;
+    
+    // Node states. Revealed nodes are stored as PROX_BASE + proximity count.
+    private static final byte HIDDEN = 0;
+    private static final byte FLAG = 1;
+    private static final byte QUESTION = 2;
+    private static final byte MINE = 3;
+    private static final byte MINE_RED = 4;
+    private static final byte FLAG_RED = 5;
+    private static final byte FLAG_KEEP = 6;  // Only used during endGameReveal.
+    private static final byte PROX_BASE = 7;
+    
+    private final MineSweeperAdapter adapter;   // Reference to adapter.
+    private final Image[] images;               // Image for every node state.
+    private final int rows;                     // Number of rows.
+    private final int columns;                  // Number of columns.
+    private final byte[] state;                 // State of every node.
+    private MouseAdapter mouseAdapter;          // The mouse adapter for clicks.
+    
+    /**
+     * Default constructor for the canvas.
+     * 
+     * @param rows The number of rows of the playing grid.
+     * @param columns The number of columns of the playing grid.
+     * @param adapter The MineSweeperAdapter object since the canvas is a part 
+     * of the view.
+     */
+    public LandCanvas( int rows, int columns, MineSweeperAdapter adapter ) {
+        super( );
+        this.adapter = adapter;
+        this.rows = rows;
+        this.columns = columns;
+        state = new byte[rows * columns];
+        images = createImages( adapter.getView().getIcons() );
+        mouseAdapter = null;
+        
+    } // End of LandCanvas( )
+    
+    /**
+     * This function sets up the LandCanvas object. Should be called after the 
+     * canvas has been initialized.
+     */
+    public void initComponent( ) {
+        // Create the mouse listener.
+        mouseAdapter = createMouseAdapter( );
+        this.addMouseListener( mouseAdapter );
+        this.setPreferredSize( new Dimension(columns * NODE_SIZE, 
+                                             rows * NODE_SIZE) );
+        this.setVisible( true );
+        
+    } // End of initComponent( )
+    
+    /**
+     * This function is used to line the icons up with the node states.
+     * 
+     * @param icon The Icons object of the view.
+     * @return An array of images indexed by node state.
+     */
+    private static Image[] createImages( Icons icon ) {
+        Image[] images = new Image[PROX_BASE + 9];
+        images[HIDDEN] = icon.NODE_ICON.getImage( );
+        images[FLAG] = icon.FLAG_ICON.getImage( );
+        images[QUESTION] = icon.FLAG_QUESTION_ICON.getImage( );
+        images[MINE] = icon.MINE_ICON.getImage( );
+        images[MINE_RED] = icon.MINE_RED_ICON.getImage( );
+        images[FLAG_RED] = icon.FLAG_RED_ICON.getImage( );
+        images[FLAG_KEEP] = icon.FLAG_ICON.getImage( );
+        images[PROX_BASE] = icon.REVEALED_NODE_ICON.getImage( );
+        images[PROX_BASE + 1] = icon.PROX_ONE_ICON.getImage( );
+        images[PROX_BASE + 2] = icon.PROX_TWO_ICON.getImage( );
+        images[PROX_BASE + 3] = icon.PROX_THREE_ICON.getImage( );
+        images[PROX_BASE + 4] = icon.PROX_FOUR_ICON.getImage( );
+        images[PROX_BASE + 5] = icon.PROX_FIVE_ICON.getImage( );
+        images[PROX_BASE + 6] = icon.PROX_SIX_ICON.getImage( );
+        images[PROX_BASE + 7] = icon.PROX_SEVEN_ICON.getImage( );
+        images[PROX_BASE + 8] = icon.PROX_EIGHT_ICON.getImage( );
+        
+        return images;
+        
+    } // End of createImages( )
+    
+    /**
+     * This function paints the nodes that fall inside the clip region. The 
+     * rest of the grid is never touched, so the cost follows the size of the 
+     * window and not the size of the board.
+     * 
+     * @param graphics The Graphics object to paint with.
+     */
+    @Override
+    protected void paintComponent( Graphics graphics ) {
+        Rectangle clip = graphics.getClipBounds( );
+        if( clip == null ) {
+            clip = new Rectangle( getPreferredSize() );
+        }
+        // Work out which rows and columns are visible.
+        int firstColumn = Math.max( 0, clip.x / NODE_SIZE );
+        int firstRow = Math.max( 0, clip.y / NODE_SIZE );
+        int lastColumn = Math.min( columns - 1, 
+                                   (clip.x + clip.width) / NODE_SIZE );
+        int lastRow = Math.min( rows - 1, (clip.y + clip.height) / NODE_SIZE );
+        
+        for( int row = firstRow; row <= lastRow; row++ ) {
+            for( int column = firstColumn; column <= lastColumn; column++ ) {
+                graphics.drawImage( images[state[row * columns + column]], 
+                                    column * NODE_SIZE, row * NODE_SIZE, 
+                                    NODE_SIZE, NODE_SIZE, null );
+            }
+        }
+        
+    } // End of paintComponent( )
+    
+    /**
+     * This function is used to get the index of a node in the state array.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @return The index of the node.
+     */
+    private int getIndex( int[] coordinate ) {
+        return coordinate[1] * columns + coordinate[0];
+        
+    } // End of getIndex( )
+    
+    /**
+     * This function is used to change the state of a node and repaint it.
+     * 
+     * @param index The index of the node.
+     * @param value The new state of the node.
+     */
+    private void setState( int index, byte value ) {
+        state[index] = value;
+        this.repaint( (index % columns) * NODE_SIZE, 
+                      (index / columns) * NODE_SIZE, NODE_SIZE, NODE_SIZE );
+        
+    } // End of setState( )
+    
+    /**
+     * This function is used to see if a node was already revealed.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @return True if the node was revealed, false otherwise.
+     */
+    public boolean isRevealed( int[] coordinate ) {
+        return isRevealed( getIndex(coordinate) );
+        
+    } // End of isRevealed( )
+    
+    /**
+     * This function is used to see if a node was already revealed.
+     * 
+     * @param index The index of the node.
+     * @return True if the node was revealed, false otherwise.
+     */
+    public boolean isRevealed( int index ) {
+        return state[index] >= PROX_BASE;
+        
+    } // End of isRevealed( )
+    
+    /**
+     * This function is used to show a node as revealed when the model has 
+     * already revealed it. The proximity value follows with setProxCount( ).
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     */
+    public void showRevealed( int[] coordinate ) {
+        showRevealed( getIndex(coordinate) );
+        
+    } // End of showRevealed( )
+    
+    /**
+     * This function is used to show a node as revealed by its index.
+     * 
+     * @param index The index of the node.
+     */
+    public void showRevealed( int index ) {
+        setState( index, PROX_BASE );
+        
+    } // End of showRevealed( )
+    
+    /**
+     * This function is used to show a node as hidden again.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     */
+    public void hideNode( int[] coordinate ) {
+        hideNode( getIndex(coordinate) );
+        
+    } // End of hideNode( )
+    
+    /**
+     * This function is used to show a node as hidden again by its index.
+     * 
+     * @param index The index of the node.
+     */
+    public void hideNode( int index ) {
+        setState( index, HIDDEN );
+        
+    } // End of hideNode( )
+    
+    /**
+     * This function is used to set the proximity value of a node.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @param proxCount The proximity value.
+     */
+    public void setProxCount( int[] coordinate, int proxCount ) {
+        setProxCount( getIndex(coordinate), proxCount );
+        
+    } // End of setProxCount( )
+    
+    /**
+     * This function is used to set the proximity value of a node by its index.
+     * 
+     * @param index The index of the node.
+     * @param proxCount The proximity value.
+     */
+    public void setProxCount( int index, int proxCount ) {
+        setState( index, (byte)(PROX_BASE + proxCount) );
+        
+    } // End of setProxCount( )
+    
+    /**
+     * This function is used to show every node revealed by a move. The states 
+     * are all set first and then only the area around them is repainted once.
+     * 
+     * @param diff The RevealDiff of the move.
+     */
+    public void revealNodes( RevealDiff diff ) {
+        if( diff.size() == 0 ) {
+            return;
+        }
+        int top = rows;
+        int left = columns;
+        int bottom = 0;
+        int right = 0;
+        for( int i = 0; i < diff.size(); i++ ) {
+            int index = diff.getIndex( i );
+            state[index] = (byte)( PROX_BASE + diff.getProximityCount(i) );
+            top = Math.min( top, index / columns );
+            bottom = Math.max( bottom, index / columns );
+            left = Math.min( left, index % columns );
+            right = Math.max( right, index % columns );
+        }
+        this.repaint( left * NODE_SIZE, top * NODE_SIZE, 
+                      (right - left + 1) * NODE_SIZE, 
+                      (bottom - top + 1) * NODE_SIZE );
+        
+    } // End of revealNodes( )
+    
+    /**
+     * Draw the marking of a node if it has not been revealed.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @param status An enumeration of the marking status of the land node.
+     */
+    public void nextMarking( int[] coordinate, Marking status ) {
+        nextMarking( getIndex(coordinate), status );
+        
+    } // End of nextMarking( )
+    
+    /**
+     * Draw the marking of a node by its index if it has not been revealed.
+     * 
+     * @param index The index of the node.
+     * @param status An enumeration of the marking status of the land node.
+     */
+    public void nextMarking( int index, Marking status ) {
+        if( state[index] >= PROX_BASE ) {
+            return;
+        }
+        // Based off of the marking status, set the state.
+        switch( status ) {
+            case NOT_MARKED:
+                setState( index, HIDDEN );
+                break;
+
+            case MARKED:
+                setState( index, FLAG );
+                break;
+
+            case QUESTIONED:
+                setState( index, QUESTION );
+                break;
+        }
+        
+    } // End of nextMarking( )
+    
+    /**
+     * This function checks to see if the user marked the node as containing a 
+     * mine.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @return True if the user marked the node for a mine - false otherwise.
+     */
+    public boolean isMarkedForMine( int[] coordinate ) {
+        return state[getIndex(coordinate)] == FLAG;
+        
+    } // End of isMarkedForMine( )
+    
+    /**
+     * This function is used to get an array of user marked mine locations.
+     * 
+     * @return An int[][] array of user marked mine coordinates.
+     */
+    public int[][] getMarkedLocations( ) {
+        ArrayList<int[]> locations = new ArrayList<>();
+        for( int index = 0; index < state.length; index++ ) {
+            if( state[index] == FLAG ) {
+                locations.add( new int[] {index % columns, index / columns} );
+            }
+        }
+        
+        return locations.toArray( new int[locations.size()][] );
+        
+    } // End of getMarkedLocations( )
+    
+    /**
+     * This function is used to reveal a mine that was 'stepped on'.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     */
+    public void revealMine( int[] coordinate ) {
+        setState( getIndex(coordinate), MINE_RED );
+        
+    } // End of revealMine( )
+    
+    /**
+     * This function is used to reveal all unseen mines and void all flags 
+     * placed in the wrong location. Correct flags are set aside during the 
+     * first pass, so any flag left over in the second pass was wrong.
+     * 
+     * @param mineLocations An array of the indexes of all of the mines.
+     */
+    public void endGameReveal( int[] mineLocations ) {
+        // Reveal the hidden mines and set aside the correct flags.
+        for( int index : mineLocations ) {
+            state[index] = ( state[index] == FLAG ) ? FLAG_KEEP : MINE;
+        }
+        // Red flag the wrong flags and restore the correct ones.
+        for( int index = 0; index < state.length; index++ ) {
+            if( state[index] == FLAG ) {
+                state[index] = FLAG_RED;
+            }
+            else if( state[index] == FLAG_KEEP ) {
+                state[index] = FLAG;
+            }
+        }
+        this.repaint( );
+        
+    } // End of endGameReveal( )
+    
+    /**
+     * This function is used to create a MouseListener for the LandCanvas. It 
+     * works out which node was clicked and then acts like a LandButton.
+     * 
+     * Left click presses the node and reveal its contents.
+     * Right click iterates through the Marking states with this pattern:
+     * NOT_MARKED -> MARKED -> QUESTIONED -> NOT_MARKED
+     * 
+     * @return A MouseAdapter object for the canvas.
+     */
+    public MouseAdapter createMouseAdapter( ) {
+        return new MouseAdapter( ) {
+            @Override
+            public void mouseClicked( MouseEvent click ) {
+                int column = click.getX( ) / NODE_SIZE;
+                int row = click.getY( ) / NODE_SIZE;
+                // Ignore clicks outside of the grid.
+                if( column >= columns || row >= rows ) {
+                    return;
+                }
+                int index = row * columns + column;
+                // Left click.
+                if( click.getButton() == MouseEvent.BUTTON1 ) {
+                    // If we are already revealed.
+                    if( isRevealed(index) ) { 
+                        // Reveal the nearby nodes.
+                        adapter.revealNearbyNodes( index );
+                    }
+                    // Only unmarked nodes can be revealed.
+                    else if( state[index] == HIDDEN ) {
+                        showRevealed( index );
+                        adapter.checkNode( index );
+                    }
+                }
+                // Right click.
+                if( click.getButton() == MouseEvent.BUTTON3 ) {
+                    if( !isRevealed(index) ) {
+                        // Iterate through the marking via the adapter.
+                        nextMarking( index, adapter.nextMarking(index) );
+                    }
+                }
+            } // End of mouseClicked( )
+        };
+        
+    } // End of createMouseAdapter( )
+    
+    /**
+     * This function clears out the mouse adapter so the canvas is unclickable.
+     */
+    public void removeMouseAdapter( ) {
+        this.removeMouseListener( mouseAdapter );
+        
+    } // End of removeMouseAdapter( )
+    
+} // End of LandCanvas class.
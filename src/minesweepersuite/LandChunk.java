@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.util.Random;
+
+/**
+ * This class is a single fixed size chunk of an endless playing grid. The 
+ * mines of a chunk only depend on the game seed and the chunk coordinate, so 
+ * a chunk can be generated at any time and will always come out the same.
+ * 
+ * @author Nicholas Moss
+ */
+public class LandChunk extends PackedLandGrid {
+    
+    // The width and height of every chunk.
+    public static final int CHUNK_SIZE = 64;
+    public static final int CHUNK_AREA = CHUNK_SIZE * CHUNK_SIZE;
+    
+    // The (x, y) coordinate of the chunk in chunks, not nodes.
+    private final int chunkX;
+    private final int chunkY;
+    // True once the proximity values have been counted.
+    private boolean counted;
+    
+    /**
+     * Default constructor. All cells start unarmed, unmarked, and hidden.
+     * 
+     * @param chunkX The x coordinate of the chunk.
+     * @param chunkY The y coordinate of the chunk.
+     */
+    public LandChunk( int chunkX, int chunkY ) {
+        super( CHUNK_SIZE, CHUNK_SIZE );
+        this.chunkX = chunkX;
+        this.chunkY = chunkY;
+        counted = false;
+        
+    } // End of LandChunk( )
+    
+    /**
+     * This function is used to arm the mines of the chunk. The mines are picked
+     *  with Floyd's sampling algorithm from a Random seeded by the hash of the 
+     * game seed and the chunk coordinate. Any mine inside the safe zone around 
+     * the first move is left out afterwards.
+     * 
+     * @param seed The seed of the game.
+     * @param mines The number of mines in a chunk.
+     * @param safeCoordinate The (x, y) node coordinate of the first move.
+     */
+    public void placeMines( long seed, int mines, int[] safeCoordinate ) {
+        Random random = new Random( hash(seed, chunkX, chunkY) );
+        for( int j = CHUNK_AREA - mines; j < CHUNK_AREA; j++ ) {
+            int node = random.nextInt( j + 1 );
+            // If it was already picked, pick the newest number instead.
+            if( isArmed(node) ) {
+                node = j;
+            }
+            setArmedStatus( node, true );
+        }
+        
+        // Clear the part of the safe zone that falls in this chunk.
+        for( int y = safeCoordinate[1] - 1; y <= safeCoordinate[1] + 1; y++ ) {
+            for( int x = safeCoordinate[0] - 1; x <= safeCoordinate[0] + 1; 
+                 x++ ) {
+                if( getChunk(x) == chunkX && getChunk(y) == chunkY ) {
+                    setArmedStatus( getLocalIndex(x, y), false );
+                }
+            }
+        }
+        
+    } // End of placeMines( )
+    
+    /**
+     * This function is used to see if the proximity values were counted yet.
+     * 
+     * @return True if the proximity values were counted, false otherwise.
+     */
+    public boolean isCounted( ) {
+        return counted;
+        
+    } // End of isCounted( )
+    
+    /**
+     * This function is used to flag the proximity values as counted.
+     */
+    public void setCounted( ) {
+        counted = true;
+        
+    } // End of setCounted( )
+    
+    /**
+     * This function is used to get the x coordinate of the chunk.
+     * 
+     * @return The x coordinate of the chunk.
+     */
+    public int getChunkX( ) {
+        return chunkX;
+        
+    } // End of getChunkX( )
+    
+    /**
+     * This function is used to get the y coordinate of the chunk.
+     * 
+     * @return The y coordinate of the chunk.
+     */
+    public int getChunkY( ) {
+        return chunkY;
+        
+    } // End of getChunkY( )
+    
+    /**
+     * This function is used to get the chunk coordinate of a node coordinate 
+     * along one axis. Negative node coordinates round down as well.
+     * 
+     * @param value The node coordinate along one axis.
+     * @return The chunk coordinate along the same axis.
+     */
+    public static int getChunk( int value ) {
+        return Math.floorDiv( value, CHUNK_SIZE );
+        
+    } // End of getChunk( )
+    
+    /**
+     * This function is used to get the index of a node inside of its chunk.
+     * 
+     * @param x The x node coordinate.
+     * @param y The y node coordinate.
+     * @return The index of the node inside of its chunk.
+     */
+    public static int getLocalIndex( int x, int y ) {
+        return Math.floorMod( y, CHUNK_SIZE ) * CHUNK_SIZE + 
+               Math.floorMod( x, CHUNK_SIZE );
+        
+    } // End of getLocalIndex( )
+    
+    /**
+     * This function is used to pack a chunk coordinate into a single key.
+     * 
+     * @param chunkX The x coordinate of the chunk.
+     * @param chunkY The y coordinate of the chunk.
+     * @return The key of the chunk.
+     */
+    public static long getKey( int chunkX, int chunkY ) {
+        return ( (long)chunkX << 32 ) | ( chunkY & 0xFFFFFFFFL );
+        
+    } // End of getKey( )
+    
+    /**
+     * This function is used to mix the game seed and a chunk coordinate into 
+     * the seed of that chunk. It uses the SplitMix64 finalizer so chunks next 
+     * to each other get unrelated seeds.
+     * 
+     * @param seed The seed of the game.
+     * @param chunkX The x coordinate of the chunk.
+     * @param chunkY The y coordinate of the chunk.
+     * @return The seed of the chunk.
+     */
+    public static long hash( long seed, int chunkX, int chunkY ) {
+        long hash = seed ^ ( getKey(chunkX, chunkY) * 0x9E3779B97F4A7C15L );
+        hash = ( hash ^ (hash >>> 30) ) * 0xBF58476D1CE4E5B9L;
+        hash = ( hash ^ (hash >>> 27) ) * 0x94D049BB133111EBL;
+        
+        return hash ^ ( hash >>> 31 );
+        
+    } // End of hash( )
+    
+} // End of LandChunk class.
@@ -0,0 +1,432 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.Serializable;
+
+/**
+ * This class represents the entire playing grid of the MineSweeper game. It 
+ * replaces the old nested array of LandNode objects with a flat, packed set of 
+ * cells. Every cell is addressed by a single index computed as 
+ * (row * columns + column), which is the same as (y * columns + x).
+ * 
+ * Each cell is packed into the low eight bits of an int as follows:
+ * 
+ * bits 0-3     The proximity count (0 - 8).
+ * bit  4       The armed status.
+ * bit  5       The revealed status.
+ * bits 6-7     The ordinal of the Marking enumeration.
+ * 
+ * A grid can leave its proximity counts out when it is built. A lazy grid 
+ * counts the mines around a hidden cell whenever it is asked, and keeps the 
+ * count in the cell once the cell is revealed.
+ * 
+ * Subclasses only need to decide where the packed cells are stored.
+ * 
+ * @author Nicholas Moss
+ */
+public abstract class LandGrid implements Serializable {
+    
+    // Cell bit layout.
+    protected static final int PROXIMITY_MASK = 0x0F;
+    protected static final int ARMED_BIT = 0x10;
+    protected static final int REVEALED_BIT = 0x20;
+    protected static final int MARKING_SHIFT = 6;
+    protected static final int MARKING_MASK = 0xC0;
+    // The highest proximity count a packed cell can hold.
+    public static final int MAX_PROXIMITY_COUNT = PROXIMITY_MASK;
+    
+    // Cached Marking values so we don't clone the array on every lookup.
+    private static final Marking[] MARKINGS = Marking.values( );
+    
+    // Grid dimensions. Not final so a reused grid can take a new shape.
+    protected int rows;
+    protected int columns;
+    // True if proximity counts are only kept once a cell is revealed.
+    private boolean lazyProximity;
+    
+    /**
+     * Default constructor.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     */
+    protected LandGrid( int rows, int columns ) {
+        this.rows = rows;
+        this.columns = columns;
+        
+    } // End of LandGrid( )
+    
+    /**
+     * This function is used to read the packed bits of a single cell.
+     * 
+     * @param index The index of the cell.
+     * @return The packed cell bits.
+     */
+    protected abstract int getCell( int index );
+    
+    /**
+     * This function is used to write the packed bits of a single cell.
+     * 
+     * @param index The index of the cell.
+     * @param cell The packed cell bits.
+     */
+    protected abstract void setCell( int index, int cell );
+    
+    /**
+     * This function is used to reset every cell back to an unarmed, unmarked, 
+     * and hidden state.
+     */
+    public abstract void clear( );
+    
+    /**
+     * This function is used to give back any memory the grid holds outside of 
+     * the Java heap. The grid can't be used afterwards. Grids stored on the 
+     * heap have nothing to give back.
+     */
+    public void release( ) {
+        
+    } // End of release( )
+    
+    /**
+     * This function checks if several threads can write to different rows of 
+     * the grid at the same time, which lets a giant grid be built in parallel.
+     * 
+     * @return True if rows can be written from different threads.
+     */
+    public boolean allowsParallelWrites( ) {
+        return false;
+        
+    } // End of allowsParallelWrites( )
+    
+    /**
+     * This function is used to reset the grid in place for a new game, so the
+     *  storage of the last game is reused rather than allocated again. By 
+     * default only a grid of the same size can be reused.
+     * 
+     * @param rows The number of rows of the new game.
+     * @param columns The number of columns of the new game.
+     * @return True if the grid was reset, false if a new grid is needed.
+     */
+    public boolean reuse( int rows, int columns ) {
+        if( rows != this.rows || columns != this.columns ) {
+            return false;
+        }
+        clear( );
+        
+        return true;
+        
+    } // End of reuse( )
+    
+    /**
+     * This function is used to take a read only copy of the grid. This copies 
+     * every cell each time, so taking one after every move costs the whole 
+     * grid per move. A TiledLandGrid shares the tiles that did not change 
+     * instead.
+     * 
+     * @return A LandSnapshot of the grid as it is now.
+     */
+    public LandSnapshot snapshot( ) {
+        byte[][] tiles = TiledLandGrid.newTiles( getSize() );
+        for( int index = 0; index < getSize(); index++ ) {
+            tiles[index >>> TiledLandGrid.TILE_SHIFT]
+                 [index & TiledLandGrid.TILE_MASK] = (byte)getCell( index );
+        }
+        
+        LandSnapshot snapshot = new LandSnapshot( rows, columns, tiles );
+        snapshot.setLazyProximity( lazyProximity );
+        
+        return snapshot;
+        
+    } // End of snapshot( )
+    
+    /**
+     * This function gets the number of rows in the grid.
+     * 
+     * @return The number of rows.
+     */
+    public int getRows( ) {
+        return rows;
+        
+    } // End of getRows( )
+    
+    /**
+     * This function gets the number of columns in the grid.
+     * 
+     * @return The number of columns.
+     */
+    public int getColumns( ) {
+        return columns;
+        
+    } // End of getColumns( )
+    
+    /**
+     * This function gets the total number of cells in the grid.
+     * 
+     * @return The number of cells.
+     */
+    public int getSize( ) {
+        return rows * columns;
+        
+    } // End of getSize( )
+    
+    /**
+     * This function is used to map an (x, y) coordinate to a cell index.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @return The index of the cell.
+     */
+    public int getIndex( int[] coordinate ) {
+        return coordinate[1] * columns + coordinate[0];
+        
+    } // End of getIndex( )
+    
+    /**
+     * This function is used to map a cell index back to an (x, y) coordinate.
+     * 
+     * @param index The index of the cell.
+     * @return A new (x, y) coordinate.
+     */
+    public int[] getCoordinate( int index ) {
+        return new int[] { index % columns, index / columns };
+        
+    } // End of getCoordinate( )
+    
+    /**
+     * This function is used to get the armed status of a cell.
+     * 
+     * @param index The index of the cell.
+     * @return True if the cell is armed, false otherwise.
+     */
+    public boolean isArmed( int index ) {
+        return (getCell( index ) & ARMED_BIT) != 0;
+        
+    } // End of isArmed( )
+    
+    /**
+     * This function is used to set the armed status of a cell.
+     * 
+     * @param index The index of the cell.
+     * @param armed Set to true if the cell should be armed.
+     */
+    public void setArmedStatus( int index, boolean armed ) {
+        int cell = getCell( index );
+        setCell( index, armed ? (cell | ARMED_BIT) : (cell & ~ARMED_BIT) );
+        
+    } // End of setArmedStatus( )
+    
+    /**
+     * This function is used to get the count of mines adjacent to a cell.
+     * 
+     * @param index The index of the cell.
+     * @return The count of mines in adjacent cells.
+     */
+    public int getProximityCount( int index ) {
+        int cell = getCell( index );
+        // A lazy grid has yet to count the mines around a hidden cell.
+        if( lazyProximity && (cell & REVEALED_BIT) == 0 ) {
+            return countArmedNearby( index );
+        }
+        
+        return cell & PROXIMITY_MASK;
+        
+    } // End of getProximityCount( )
+    
+    /**
+     * This function gets the highest proximity count the grid can hold, which
+     *  limits the topologies it can be used for.
+     * 
+     * @return The highest proximity count of a cell.
+     */
+    public int getMaxProximityCount( ) {
+        return MAX_PROXIMITY_COUNT;
+        
+    } // End of getMaxProximityCount( )
+    
+    /**
+     * This function checks if the proximity counts are left until the cells 
+     * are revealed.
+     * 
+     * @return True if the grid is lazy, false if every count is stored.
+     */
+    public boolean isLazyProximity( ) {
+        return lazyProximity;
+        
+    } // End of isLazyProximity( )
+    
+    /**
+     * This function is used to leave the proximity counts of the grid until 
+     * the cells are revealed. Once the mines are armed this takes the place 
+     * of computing the proximity of every cell.
+     * 
+     * @param lazy Set to true to count each cell when it is revealed.
+     */
+    public void setLazyProximity( boolean lazy ) {
+        this.lazyProximity = lazy;
+        
+    } // End of setLazyProximity( )
+    
+    /**
+     * This function is used to count the armed cells around a cell of a 
+     * square grid.
+     * 
+     * @param index The index of the cell.
+     * @return The count of mines in adjacent cells.
+     */
+    protected int countArmedNearby( int index ) {
+        int row = index / columns;
+        int column = index - row * columns;
+        int left = Math.max( 0, column - 1 );
+        int right = Math.min( columns - 1, column + 1 );
+        int count = 0;
+        for( int y = Math.max( 0, row - 1 ); 
+                 y <= Math.min( rows - 1, row + 1 ); y++ ) {
+            for( int x = left; x <= right; x++ ) {
+                if( (getCell( y * columns + x ) & ARMED_BIT) != 0 ) {
+                    count++;
+                }
+            }
+        }
+        // The cell itself was counted along with its neighbors.
+        if( (getCell( index ) & ARMED_BIT) != 0 ) {
+            count--;
+        }
+        
+        return count;
+        
+    } // End of countArmedNearby( )
+    
+    /**
+     * This function is used to increment the count of mines near a cell.
+     * 
+     * @param index The index of the cell.
+     */
+    public void incrementProximityCount( int index ) {
+        // The proximity count sits in the lowest bits so a plain add works.
+        setCell( index, getCell( index ) + 1 );
+        
+    } // End of incrementProximityCount( )
+    
+    /**
+     * This function is used to set the count of mines near a cell.
+     * 
+     * @param index The index of the cell.
+     * @param count The count of mines in adjacent cells.
+     */
+    public void setProximityCount( int index, int count ) {
+        setCell( index, (getCell( index ) & ~PROXIMITY_MASK) | count );
+        
+    } // End of setProximityCount( )
+    
+    /**
+     * This function is used to set the proximity count of every cell of a 
+     * square grid in one pass. Each cell counts its own armed neighbors, so 
+     * nothing is scattered around the grid. Grids that can count several 
+     * cells at a time do so instead.
+     */
+    public void computeProximity( ) {
+        for( int index = 0; index < getSize(); index++ ) {
+            setProximityCount( index, countArmedNearby(index) );
+        }
+        
+    } // End of computeProximity( )
+    
+    /**
+     * This function is used to get the marking enumeration of a cell.
+     * 
+     * @param index The index of the cell.
+     * @return The Marking of the cell.
+     */
+    public Marking getMarking( int index ) {
+        return MARKINGS[ (getCell( index ) & MARKING_MASK) >>> MARKING_SHIFT ];
+        
+    } // End of getMarking( )
+    
+    /**
+     * This function is used to switch a cell to its next marking state. The 
+     * order is NOT_MARKED -> MARKED -> QUESTIONED -> NOT_MARKED.
+     * 
+     * @param index The index of the cell.
+     * @return The marked state of the cell after the state has changed.
+     */
+    public Marking nextMarking( int index ) {
+        int cell = getCell( index );
+        int ordinal = ( ((cell & MARKING_MASK) >>> MARKING_SHIFT) + 1 ) 
+                      % MARKINGS.length;
+        setCell( index, (cell & ~MARKING_MASK) | (ordinal << MARKING_SHIFT) );
+        
+        return MARKINGS[ ordinal ];
+        
+    } // End of nextMarking( )
+    
+    /**
+     * This function sets a cell to the revealed state.
+     * 
+     * @param index The index of the cell.
+     */
+    public void revealNode( int index ) {
+        // A lazy grid keeps the count of a cell once it is revealed.
+        if( lazyProximity && (getCell( index ) & REVEALED_BIT) == 0 ) {
+            setProximityCount( index, countArmedNearby(index) );
+        }
+        setCell( index, getCell( index ) | REVEALED_BIT );
+        
+    } // End of revealNode( )
+    
+    /**
+     * This function sets a cell back to the hidden state. It is only used to 
+     * take back a move.
+     * 
+     * @param index The index of the cell.
+     */
+    public void hideNode( int index ) {
+        setCell( index, getCell( index ) & ~REVEALED_BIT );
+        
+    } // End of hideNode( )
+    
+    /**
+     * This function checks to see if a cell has been revealed or not.
+     * 
+     * @param index The index of the cell.
+     * @return True if the cell has been revealed. False otherwise.
+     */
+    public boolean isRevealed( int index ) {
+        return (getCell( index ) & REVEALED_BIT) != 0;
+        
+    } // End of isRevealed( )
+    
+    /**
+     * This function checks to see if a cell has been "touched" in any way.
+     * 
+     * @param index The index of the cell.
+     * @return True if the cell has been marked or revealed, false otherwise.
+     */
+    public boolean isActivated( int index ) {
+        return isRevealed( index ) || getMarking( index ) == Marking.MARKED;
+        
+    } // End of isActivated( )
+    
+} // End of LandGrid class.
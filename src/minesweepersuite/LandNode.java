@@ -26,33 +26,39 @@
 package minesweepersuite;
 
 import java.io.Serializable;
-import static minesweepersuite.Marking.*;
 
 /**
- * This class represents a single unit of land in the MineSweeper game.
+ * This class represents a single unit of land in the MineSweeper game. It no 
+ * longer holds any state of its own. Instead it is a lightweight view of one 
+ * cell of a LandGrid, so any changes made through it are made to the grid.
  * 
  * @author Nicholas Moss
  */
 public class LandNode implements LandInterface, Serializable {
     
-    // Arming status of the node.
-    private boolean armed;
-    // Count of nearby mines.
-    private int proximityCount;
-    // Marking enumeration state.
-    private Marking marking;
-    // If the node was revealed or not.
-    private boolean revealed;
+    // The grid that holds the actual cell.
+    private final LandGrid grid;
+    // The index of the cell within the grid.
+    private final int index;
  
     
     /**
-     * Default constructor.
+     * Default constructor. Creates a node backed by its own single cell grid.
      */
     public LandNode( ) {
-        armed = false;
-        proximityCount = 0;
-        marking = NOT_MARKED;
-        revealed = false;
+        this( new PackedLandGrid( 1, 1 ), 0 );
+        
+    } // End of LandNode( )
+    
+    /**
+     * A constructor. Creates a view of a single cell of a LandGrid.
+     * 
+     * @param grid The LandGrid that holds the cell.
+     * @param index The index of the cell within the grid.
+     */
+    public LandNode( LandGrid grid, int index ) {
+        this.grid = grid;
+        this.index = index;
         
     } // End of LandNode( )
 
@@ -63,7 +69,7 @@ public class LandNode implements LandInterface, Serializable {
      */
     @Override
     public boolean isArmed( ) {
-        return armed;
+        return grid.isArmed( index );
         
     } // End of getArmedStatus( )
 
@@ -74,7 +80,7 @@ public class LandNode implements LandInterface, Serializable {
      */
     @Override
     public void setArmedStatus( boolean armed ) {
-        this.armed = armed;
+        grid.setArmedStatus( index, armed );
         
     } // End of setArmedStatus( )
 
@@ -85,7 +91,7 @@ public class LandNode implements LandInterface, Serializable {
      */
     @Override
     public int getProximityCount( ) {
-        return proximityCount;
+        return grid.getProximityCount( index );
         
     } // End of getProximityCount( )
 
@@ -95,7 +101,7 @@ public class LandNode implements LandInterface, Serializable {
      */
     @Override
     public void incrementProximityCount( ) {
-        proximityCount++;
+        grid.incrementProximityCount( index );
         
     } // End of incrementProximityCount( )
 
@@ -106,7 +112,7 @@ public class LandNode implements LandInterface, Serializable {
      */
     @Override
     public Marking getMarking( ) {
-        return marking;
+        return grid.getMarking( index );
         
     } // End of getMarking( )
     
@@ -118,22 +124,7 @@ public class LandNode implements LandInterface, Serializable {
      */
     @Override
     public Marking nextMarking( ) {
-        // Based off of our current Marking state we need to pivot to another.
-        switch( marking ) {
-            case NOT_MARKED:
-                marking = MARKED;
-                break;
-            
-            case MARKED:
-                marking = QUESTIONED;
-                break;
-                
-            case QUESTIONED:
-                marking = NOT_MARKED;
-                break;
-        }
-        // Return the new Marking state.
-        return marking;
+        return grid.nextMarking( index );
         
     } // End of nextMarking( )
     
@@ -142,7 +133,7 @@ public class LandNode implements LandInterface, Serializable {
      */
     @Override
     public void revealNode( ) {
-        revealed = true;
+        grid.revealNode( index );
         
     } // End of revealNode( )
     
@@ -153,7 +144,7 @@ public class LandNode implements LandInterface, Serializable {
      */
     @Override
     public boolean isRevealed( ) {
-        return revealed;
+        return grid.isRevealed( index );
         
     } // End of getRevealedStatus( )
     
@@ -163,7 +154,7 @@ public class LandNode implements LandInterface, Serializable {
      * @return True if the node has been marked or revealed, false otherwise.
      */
     public boolean isActivated( ) {
-        return revealed || marking == Marking.MARKED;
+        return grid.isActivated( index );
         
     } // End of isActivated( )
     
@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+/**
+ * This class is a read only copy of a LandGrid at one point in a game. It can 
+ * be read with the usual LandGrid functions, but any attempt to change it 
+ * throws an UnsupportedOperationException. Snapshots of a TiledLandGrid share 
+ * every tile that did not change between them, so a solver, a replay, or a 
+ * spectator can hold on to many of them cheaply. A snapshot taken from a 
+ * game also keeps the Topology of its board, so a game forked from it plays 
+ * on the same board.
+ * 
+ * @author Nicholas Moss
+ */
+public final class LandSnapshot extends LandGrid {
+    
+    // The tiles of cells. They are never written to.
+    private final byte[][] tiles;
+    // The proximity counts of a grid too wide to pack them, otherwise null.
+    private final byte[] counts;
+    // The shape of the board the grid was played on.
+    private final Topology topology;
+    private final int layers;
+    
+    /**
+     * Default constructor.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @param tiles The tiles of the grid. The snapshot takes them over.
+     */
+    LandSnapshot( int rows, int columns, byte[][] tiles ) {
+        this( rows, columns, tiles, null, Topology.SQUARE, 1 );
+        
+    } // End of LandSnapshot( )
+    
+    /**
+     * A constructor. Keeps the proximity counts apart from the tiles.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @param tiles The tiles of the grid. The snapshot takes them over.
+     * @param counts The proximity count of every cell, or null.
+     * @param topology The Topology of the board.
+     * @param layers The number of layers of a cubic board, otherwise 1.
+     */
+    private LandSnapshot( int rows, int columns, byte[][] tiles, 
+                          byte[] counts, Topology topology, int layers ) {
+        super( rows, columns );
+        this.tiles = tiles;
+        this.counts = counts;
+        this.topology = topology;
+        this.layers = layers;
+        
+    } // End of LandSnapshot( )
+    
+    /**
+     * This function is used to make a copy of the snapshot that reads its 
+     * proximity counts from their own array. It is used by grids that are 
+     * too wide to pack the counts into the cells.
+     * 
+     * @param counts The proximity count of every cell. The copy takes it over.
+     * @return A new LandSnapshot sharing the tiles of this one.
+     */
+    LandSnapshot withCounts( byte[] counts ) {
+        LandSnapshot snapshot = new LandSnapshot( rows, columns, tiles, 
+                                                  counts, topology, layers );
+        snapshot.setLazyProximity( isLazyProximity() );
+        
+        return snapshot;
+        
+    } // End of withCounts( )
+    
+    /**
+     * This function is used to make a copy of the snapshot that knows the 
+     * shape of the board it was taken from.
+     * 
+     * @param topology The Topology of the board.
+     * @param layers The number of layers of a cubic board, otherwise 1.
+     * @return A new LandSnapshot sharing the tiles of this one.
+     */
+    LandSnapshot withShape( Topology topology, int layers ) {
+        LandSnapshot snapshot = new LandSnapshot( rows, columns, tiles, 
+                                                  counts, topology, layers );
+        snapshot.setLazyProximity( isLazyProximity() );
+        
+        return snapshot;
+        
+    } // End of withShape( )
+    
+    /**
+     * This function gets the Topology of the board the snapshot was taken 
+     * from.
+     * 
+     * @return The Topology of the board.
+     */
+    public Topology getTopology( ) {
+        return topology;
+        
+    } // End of getTopology( )
+    
+    /**
+     * This function gets the number of layers of the board the snapshot was 
+     * taken from.
+     * 
+     * @return The number of layers of a cubic board, otherwise 1.
+     */
+    public int getLayers( ) {
+        return layers;
+        
+    } // End of getLayers( )
+    
+    /**
+     * This function is used to read the packed bits of a single cell.
+     * 
+     * @param index The index of the cell.
+     * @return The packed cell bits.
+     */
+    @Override
+    protected int getCell( int index ) {
+        return tiles[ index >>> TiledLandGrid.TILE_SHIFT ]
+                    [ index & TiledLandGrid.TILE_MASK ] & 0xFF;
+        
+    } // End of getCell( )
+    
+    /**
+     * Snapshots can't be changed.
+     * 
+     * @param index The index of the cell.
+     * @param cell The packed cell bits.
+     */
+    @Override
+    protected void setCell( int index, int cell ) {
+        throw new UnsupportedOperationException( 
+                "Snapshots can't be changed." );
+        
+    } // End of setCell( )
+    
+    /**
+     * This function is used to get the count of mines adjacent to a cell.
+     * 
+     * @param index The index of the cell.
+     * @return The count of mines in adjacent cells.
+     */
+    @Override
+    public int getProximityCount( int index ) {
+        if( counts == null || (isLazyProximity() && !isRevealed(index)) ) {
+            return super.getProximityCount( index );
+        }
+        
+        return counts[ index ] & 0xFF;
+        
+    } // End of getProximityCount( )
+    
+    /**
+     * This function gets the highest proximity count the snapshot can hold.
+     * 
+     * @return The highest proximity count of a cell.
+     */
+    @Override
+    public int getMaxProximityCount( ) {
+        return ( counts == null ) ? MAX_PROXIMITY_COUNT : 0xFF;
+        
+    } // End of getMaxProximityCount( )
+    
+    /**
+     * Snapshots can't be changed.
+     */
+    @Override
+    public void clear( ) {
+        throw new UnsupportedOperationException( 
+                "Snapshots can't be changed." );
+        
+    } // End of clear( )
+    
+    /**
+     * A snapshot never changes, so it is its own snapshot.
+     * 
+     * @return This snapshot.
+     */
+    @Override
+    public LandSnapshot snapshot( ) {
+        return this;
+        
+    } // End of snapshot( )
+    
+    /**
+     * This function is used to start a new grid from this snapshot. The new 
+     * grid shares every tile with the snapshot until it writes to it.
+     * 
+     * @return A new TiledLandGrid with the same cells.
+     */
+    public TiledLandGrid fork( ) {
+        // A tiled grid has nowhere to keep counts that don't fit the cells.
+        if( counts != null )
+            throw new UnsupportedOperationException( 
+                    "Only grids with packed proximity counts can be forked." );
+        TiledLandGrid grid = new TiledLandGrid( rows, columns, tiles.clone() );
+        grid.setLazyProximity( isLazyProximity() );
+        
+        return grid;
+        
+    } // End of fork( )
+    
+} // End of LandSnapshot class.
@@ -0,0 +1,222 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This class is a set of non-negative long keys stored in a single primitive 
+ * array. It uses open addressing with linear probing, so there are no boxed 
+ * keys and no entry objects. Removed keys shift the rest of their run back 
+ * instead of leaving tombstones behind.
+ * 
+ * @author Nicholas Moss
+ */
+public class LongHashSet implements Serializable {
+    
+    // Marks an empty slot. Keys are never negative.
+    private static final long EMPTY = -1L;
+    // The table is grown once it is more than half full.
+    private static final int MIN_CAPACITY = 16;
+    
+    private long[] keys;
+    private int size;
+    
+    /**
+     * Default constructor. Creates an empty set.
+     */
+    public LongHashSet( ) {
+        this( MIN_CAPACITY / 2 );
+        
+    } // End of LongHashSet( )
+    
+    /**
+     * A constructor. Creates an empty set that can hold a number of keys 
+     * without growing.
+     * 
+     * @param expected The number of keys the set is expected to hold.
+     */
+    public LongHashSet( int expected ) {
+        keys = new long[ getCapacity(expected) ];
+        Arrays.fill( keys, EMPTY );
+        size = 0;
+        
+    } // End of LongHashSet( )
+    
+    /**
+     * This function is used to find the table size for a number of keys. It 
+     * is the smallest power of two that keeps the table at most half full.
+     * 
+     * @param expected The number of keys.
+     * @return The number of slots in the table.
+     */
+    private static int getCapacity( int expected ) {
+        int capacity = MIN_CAPACITY;
+        while( capacity < (long)expected * 2 ) {
+            capacity <<= 1;
+        }
+        
+        return capacity;
+        
+    } // End of getCapacity( )
+    
+    /**
+     * This function is used to get the slot a key hashes to.
+     * 
+     * @param key The key.
+     * @return The first slot to probe.
+     */
+    private int getSlot( long key ) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        
+        return (int)( hash ^ (hash >>> 32) ) & ( keys.length - 1 );
+        
+    } // End of getSlot( )
+    
+    /**
+     * This function is used to see if a key is in the set.
+     * 
+     * @param key A non-negative key.
+     * @return True if the key is in the set, false otherwise.
+     */
+    public boolean contains( long key ) {
+        int mask = keys.length - 1;
+        for( int slot = getSlot(key); keys[slot] != EMPTY; 
+             slot = (slot + 1) & mask ) {
+            if( keys[slot] == key ) {
+                return true;
+            }
+        }
+        
+        return false;
+        
+    } // End of contains( )
+    
+    /**
+     * This function is used to add a key to the set.
+     * 
+     * @param key A non-negative key.
+     * @return True if the key was added, false if it was already in the set.
+     */
+    public boolean add( long key ) {
+        int mask = keys.length - 1;
+        int slot = getSlot( key );
+        while( keys[slot] != EMPTY ) {
+            if( keys[slot] == key ) {
+                return false;
+            }
+            slot = ( slot + 1 ) & mask;
+        }
+        keys[slot] = key;
+        size++;
+        // Keep the table at most half full.
+        if( size * 2 > keys.length ) {
+            rehash( keys.length * 2 );
+        }
+        
+        return true;
+        
+    } // End of add( )
+    
+    /**
+     * This function is used to remove a key from the set. The keys after it 
+     * in the same run are shifted back so every key stays reachable.
+     * 
+     * @param key A non-negative key.
+     * @return True if the key was removed, false if it was not in the set.
+     */
+    public boolean remove( long key ) {
+        int mask = keys.length - 1;
+        int slot = getSlot( key );
+        while( keys[slot] != key ) {
+            if( keys[slot] == EMPTY ) {
+                return false;
+            }
+            slot = ( slot + 1 ) & mask;
+        }
+        // Shift later keys of the run into the hole.
+        int hole = slot;
+        for( slot = (hole + 1) & mask; keys[slot] != EMPTY; 
+             slot = (slot + 1) & mask ) {
+            int home = getSlot( keys[slot] );
+            // Only move keys whose home slot is not between the hole and them.
+            if( ((slot - home) & mask) >= ((slot - hole) & mask) ) {
+                keys[hole] = keys[slot];
+                hole = slot;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+        
+        return true;
+        
+    } // End of remove( )
+    
+    /**
+     * This function is used to get the number of keys in the set.
+     * 
+     * @return The number of keys.
+     */
+    public int size( ) {
+        return size;
+        
+    } // End of size( )
+    
+    /**
+     * This function is used to remove every key from the set. The table keeps 
+     * its current size.
+     */
+    public void clear( ) {
+        Arrays.fill( keys, EMPTY );
+        size = 0;
+        
+    } // End of clear( )
+    
+    /**
+     * This function is used to move every key into a new table.
+     * 
+     * @param capacity The number of slots of the new table.
+     */
+    private void rehash( int capacity ) {
+        long[] old = keys;
+        keys = new long[ capacity ];
+        Arrays.fill( keys, EMPTY );
+        int mask = capacity - 1;
+        for( long key : old ) {
+            if( key == EMPTY ) {
+                continue;
+            }
+            int slot = getSlot( key );
+            while( keys[slot] != EMPTY ) {
+                slot = ( slot + 1 ) & mask;
+            }
+            keys[slot] = key;
+        }
+        
+    } // End of rehash( )
+    
+} // End of LongHashSet class.
@@ -0,0 +1,227 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class is a LandGrid mapped straight onto a file. The file holds a 
+ * small header followed by one packed byte per cell, and the operating system
+ *  decides which parts of it are in memory. A grid can be bigger than the 
+ * heap, and a saved grid is picked back up by mapping the file again rather 
+ * than by reading it in.
+ * 
+ * The header is six ints: a magic number, the rows, the columns, the flags 
+ * of the grid, the Topology of the board, and its layers. The flags keep a 
+ * lazy grid lazy when it is mapped again, since its hidden cells have no 
+ * counts stored.
+ * 
+ * @author Nicholas Moss
+ */
+public class MappedLandGrid extends DirectLandGrid {
+    
+    // File header layout.
+    private static final int MAGIC = 0x4D53474D;
+    private static final int FLAGS_POSITION = 3 * Integer.BYTES;
+    private static final int TOPOLOGY_POSITION = 4 * Integer.BYTES;
+    private static final int LAYERS_POSITION = 5 * Integer.BYTES;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+    
+    // Header flags.
+    private static final int LAZY_FLAG = 0x1;
+    
+    // The file the grid is mapped onto.
+    private final File file;
+    
+    /**
+     * A constructor. Maps an opened file with its header already checked.
+     * 
+     * @param file The file the grid is mapped onto.
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @param map The mapping of the whole file.
+     */
+    private MappedLandGrid( File file, int rows, int columns, 
+                            MappedByteBuffer map ) {
+        super( rows, columns, map, HEADER_BYTES );
+        this.file = file;
+        
+    } // End of MappedLandGrid( )
+    
+    /**
+     * This function is used to create a new grid file, replacing any file that
+     *  is already there. All cells start unarmed, unmarked, and hidden.
+     * 
+     * @param file The file to map the grid onto.
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @param topology The Topology of the board.
+     * @param layers The number of layers of a cubic board, otherwise 1.
+     * @return The new MappedLandGrid.
+     * @throws IOException If the file can't be created or mapped.
+     */
+    public static MappedLandGrid create( File file, int rows, int columns, 
+                                         Topology topology, int layers ) 
+            throws IOException {
+        MappedByteBuffer map = map( file, HEADER_BYTES + rows * columns, 
+                                    true );
+        map.putInt( 0, MAGIC );
+        map.putInt( Integer.BYTES, rows );
+        map.putInt( 2 * Integer.BYTES, columns );
+        map.putInt( TOPOLOGY_POSITION, topology.ordinal() );
+        map.putInt( LAYERS_POSITION, layers );
+        
+        return new MappedLandGrid( file, rows, columns, map );
+        
+    } // End of create( )
+    
+    /**
+     * This function is used to map a grid file that was saved before. Nothing
+     *  is read in besides the header.
+     * 
+     * @param file The grid file.
+     * @return The MappedLandGrid, or null if the file is not a grid file.
+     * @throws IOException If the file can't be mapped.
+     */
+    public static MappedLandGrid open( File file ) throws IOException {
+        if( !file.exists() || file.length() < HEADER_BYTES ) {
+            return null;
+        }
+        MappedByteBuffer map = map( file, file.length(), false );
+        int rows = map.getInt( Integer.BYTES );
+        int columns = map.getInt( 2 * Integer.BYTES );
+        int topology = map.getInt( TOPOLOGY_POSITION );
+        // Make sure it is a grid file of the right length.
+        if( map.getInt(0) != MAGIC || rows <= 0 || columns <= 0 || 
+            topology < 0 || topology >= Topology.values().length || 
+            file.length() != HEADER_BYTES + (long)rows * columns ) {
+            return null;
+        }
+        MappedLandGrid grid = new MappedLandGrid( file, rows, columns, map );
+        grid.setLazyProximity( 
+                (map.getInt(FLAGS_POSITION) & LAZY_FLAG) != 0 );
+        
+        return grid;
+        
+    } // End of open( )
+    
+    /**
+     * This function is used to map a file for reading and writing. The channel
+     *  is closed right away since the mapping stays valid without it.
+     * 
+     * @param file The file to map.
+     * @param length The number of bytes to map.
+     * @param truncate True to start the file over from nothing.
+     * @return The mapping of the file.
+     * @throws IOException If the file can't be opened or mapped.
+     */
+    private static MappedByteBuffer map( File file, long length, 
+                                         boolean truncate ) 
+            throws IOException {
+        try( FileChannel channel = truncate ? 
+                FileChannel.open( file.toPath(), StandardOpenOption.CREATE,
+                                  StandardOpenOption.TRUNCATE_EXISTING, 
+                                  StandardOpenOption.READ, 
+                                  StandardOpenOption.WRITE ) :
+                FileChannel.open( file.toPath(), StandardOpenOption.READ, 
+                                  StandardOpenOption.WRITE ) ) {
+            return channel.map( FileChannel.MapMode.READ_WRITE, 0, length );
+        }
+        
+    } // End of map( )
+    
+    /**
+     * This function is used to get the file the grid is mapped onto.
+     * 
+     * @return The grid file.
+     */
+    public File getFile( ) {
+        return file;
+        
+    } // End of getFile( )
+    
+    /**
+     * This function gets the Topology of the board saved with the grid.
+     * 
+     * @return The Topology of the board.
+     */
+    public Topology getTopology( ) {
+        return Topology.values( )[ getCells().getInt(TOPOLOGY_POSITION) ];
+        
+    } // End of getTopology( )
+    
+    /**
+     * This function gets the number of layers of the board saved with the 
+     * grid.
+     * 
+     * @return The number of layers of a cubic board, otherwise 1.
+     */
+    public int getLayers( ) {
+        return getCells( ).getInt( LAYERS_POSITION );
+        
+    } // End of getLayers( )
+    
+    /**
+     * This function is used to leave the proximity counts until the cells are
+     *  revealed. The mode is kept in the header along with the cells.
+     * 
+     * @param lazy Set to true to count each cell when it is revealed.
+     */
+    @Override
+    public void setLazyProximity( boolean lazy ) {
+        super.setLazyProximity( lazy );
+        if( getCells() != null ) {
+            getCells( ).putInt( FLAGS_POSITION, lazy ? LAZY_FLAG : 0 );
+        }
+        
+    } // End of setLazyProximity( )
+    
+    /**
+     * This function is used to write any changed cells out to the file.
+     */
+    public void save( ) {
+        if( getCells() instanceof MappedByteBuffer ) {
+            ((MappedByteBuffer)getCells( )).force( );
+        }
+        
+    } // End of save( )
+    
+    /**
+     * This function is used to write the grid out to its file and unmap it. 
+     * The grid can't be used afterwards, but the file can be opened again.
+     */
+    @Override
+    public void release( ) {
+        save( );
+        super.release( );
+        
+    } // End of release( )
+    
+} // End of MappedLandGrid class.
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * This is a version of the MineSweeper model built on a MappedLandGrid. It 
+ * plays exactly the same, but the grid is kept in a file that is mapped into 
+ * memory, so a board can be bigger than the heap. Since every move is already 
+ * in the file, a game is saved by clearing it and is resumed by mapping the 
+ * file again.
+ * 
+ * @author Nicholas Moss
+ */
+public class MappedMineSweeper extends MineSweeper {
+    
+    // The file the grid of the game is mapped onto.
+    private final File file;
+    
+    /**
+     * A constructor. Sets the adapter and the file to keep the grid in.
+     * 
+     * @param adapter The MineSweeperAdapter (Adapter) object used to interface 
+     * with the MineSweeper (Model) object.
+     * @param file The file the grid is mapped onto.
+     */
+    public MappedMineSweeper( MineSweeperAdapter adapter, File file ) {
+        super( adapter );
+        this.file = file;
+        
+    } // End of MappedMineSweeper( )
+    
+    /**
+     * This function is used to create the mapped grid of the game. If the file
+     *  can't be mapped the game falls back to a grid on the heap.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @return A new, empty MappedLandGrid.
+     */
+    @Override
+    protected LandGrid newLandGrid( int rows, int columns ) {
+        // The shape of the board is saved with the grid to resume it on.
+        GameParameters params = getCurrentGameParams( );
+        try {
+            return MappedLandGrid.create( file, rows, columns, 
+                                          params.getTopology(), 
+                                          params.getLayers() );
+        }
+        catch( IOException ex ) {
+            ex.printStackTrace( );
+        }
+        
+        return super.newLandGrid( rows, columns );
+        
+    } // End of newLandGrid( )
+    
+    /**
+     * This function is used to pick up the game saved in the file. Only the 
+     * file header is read, the cells are paged in as they are used.
+     * 
+     * @return True if a game was resumed, false if there was nothing to resume
+     * or the saved game was already lost or won.
+     */
+    public boolean resumeGame( ) {
+        MappedLandGrid grid = null;
+        try {
+            grid = MappedLandGrid.open( file );
+        }
+        catch( IOException ex ) {
+            ex.printStackTrace( );
+        }
+        if( grid == null ) {
+            return false;
+        }
+        // A grid that was never started or is finished isn't worth keeping.
+        if( !resumeGame(grid, grid.getTopology(), grid.getLayers()) ) {
+            grid.release( );
+            return false;
+        }
+        
+        return true;
+        
+    } // End of resumeGame( )
+    
+    /**
+     * This function is used to write any changed cells out to the file 
+     * without ending the game.
+     */
+    public void saveGame( ) {
+        if( getLandGrid() instanceof MappedLandGrid ) {
+            ((MappedLandGrid)getLandGrid( )).save( );
+        }
+        
+    } // End of saveGame( )
+    
+    /**
+     * This function is used to get the file the grid is mapped onto.
+     * 
+     * @return The grid file.
+     */
+    public File getFile( ) {
+        return file;
+        
+    } // End of getFile( )
+    
+    /**
+     * The cells of a mapped grid live in the file, and the flags around a node
+     *  are counted from it when asked for. Only the reveal queue, which holds 
+     * the edge of an opening, is left on the heap. A view of the board keeps 
+     * its own state and is not counted here.
+     * 
+     * @param params A GameParameters object of the game parameters.
+     * @return The estimated number of bytes.
+     */
+    @Override
+    protected long estimateMemory( GameParameters params ) {
+        return 2L * ( params.getRows() + params.getColumns() ) * 
+               Integer.BYTES;
+        
+    } // End of estimateMemory( )
+    
+    /**
+     * A byte per node for the flag counts would put the grid back on the heap,
+     *  so the flags around a node are counted from the file instead.
+     * 
+     * @return False, the flags are counted on demand.
+     */
+    @Override
+    protected boolean keepsMarkedNearby( ) {
+        return false;
+        
+    } // End of keepsMarkedNearby( )
+    
+    /**
+     * The mapped grid packs the proximity counts into its cells, so a node 
+     * can't have more adjacent nodes than a packed count can hold.
+     * 
+     * @param topology The Topology of the board.
+     * @return True if the proximity counts of the topology fit the cells.
+     */
+    @Override
+    protected boolean supportsTopology( Topology topology ) {
+        return topology.getMaxAdjacent() <= LandGrid.MAX_PROXIMITY_COUNT;
+        
+    } // End of supportsTopology( )
+    
+} // End of MappedMineSweeper class.
@@ -28,7 +28,8 @@ package minesweepersuite;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This is the actual game of the MineSweeper suite. It follows the Model part 
@@ -46,13 +47,46 @@ public class MineSweeper implements ModelAPI,
     
     // Game parameters
     private GameParameters params;
-    private static final Random RANDOM = new Random( );
+    
+    // Grids bigger than a normal board are not labeled or printed.
+    private static final int MAX_STANDARD_SIZE = MAX_AXIS_SIZE * MAX_AXIS_SIZE;
+    // Rough memory cost per node of a large board. One byte for the grid, a 
+    // worst case of one int in the reveal queue, one byte for the count of 
+    // nearby flags, and one byte for the view.
+    private static final int LARGE_BYTES_PER_NODE = 1 + 4 + 1 + 1;
     
     // Game details.
-    private LandNode[][] landGrid;
+    private LandGrid landGrid;
+    private AdjacencyTable adjacency;
+    private final int[] adjacentBuffer = new int[AdjacencyTable.MAX_ADJACENT];
+    private final int[] openingBuffer = new int[AdjacencyTable.MAX_ADJACENT];
+    private final int[] markingBuffer = new int[AdjacencyTable.MAX_ADJACENT];
+    // The nodes of an opening waiting to be walked, as a ring of indexes.
+    private int[] revealQueue;
+    private int queueHead;
+    private int queueSize;
+    private OpeningMap openings;
+    // The grid and openings of the last game, reused by the next one.
+    private transient LandGrid spareGrid;
+    private transient OpeningMap spareOpenings;
     private int markingCount;
-    private int[][] mineLocations;
+    // The number of MARKED neighbors of every node. Made on the first flag.
+    private byte[] markedNearby;
+    // Running counts used for an O(1) win check and for progress.
+    private int revealedCount;
+    private int activatedCount;
     private boolean firstMove;
+    // The undo history, which is locked once the game is won or lost.
+    private final MoveJournal journal = new MoveJournal( );
+    private boolean gameOver;
+    // Everything the current move revealed, handed to the view in one go.
+    private final RevealDiff diff = new RevealDiff( );
+    // A hash of what the player can see, kept up to date on every change.
+    private final ZobristHash boardHash = new ZobristHash( );
+    // How hard the board is to clear, or null until it has been measured.
+    private BoardMetrics metrics;
+    // True to count every node of a large grid up front, on every core.
+    private boolean eagerProximity;
     
     /**
      * Default constructor. Initializes variables to null.
@@ -63,7 +97,6 @@ public class MineSweeper implements ModelAPI,
         timer = null;
         
         landGrid = null;
-        mineLocations = null;
         gameIdentifier = null;
         firstMove = true;
         markingCount = 0;
@@ -81,7 +114,6 @@ public class MineSweeper implements ModelAPI,
         params = null;
         
         landGrid = null;
-        mineLocations = null;
         this.gameIdentifier = gameIdentifier;
         firstMove = true;
         markingCount = 0;
@@ -99,7 +131,6 @@ public class MineSweeper implements ModelAPI,
         this.adapter = adapter;
         params = null;
         landGrid = null;
-        mineLocations = null;
         gameIdentifier = "";
         firstMove = true;
         markingCount = 0;
@@ -143,6 +174,11 @@ public class MineSweeper implements ModelAPI,
         
         // If there were no errors, set the parameters and return null
         if( errors == null ) {
+            // Every game gets its own seed so the grid can be made again.
+            if( !params.hasSeed() ) {
+                params = params.withSeed( ThreadLocalRandom.current()
+                                                           .nextLong() );
+            }
             this.params = params;
             return null;
         }
@@ -161,7 +197,7 @@ public class MineSweeper implements ModelAPI,
      * enumeration indicating SUCCESS.
      */
     private ArrayList<GameStatus> checkValidParams( GameParameters params ) {
-        int area = params.getRows()*params.getColumns();
+        long area = params.getArea( );
         int columns = params.getColumns();
         int rows = params.getRows();
         int mines = params.getMines();
@@ -170,17 +206,36 @@ public class MineSweeper implements ModelAPI,
         // Block of if statements for the errors.
         if( columns < MIN_AXIS_SIZE )
             errors.add( GameStatus.COLUMNS_BELOW_MIN );
-        if( columns > MAX_AXIS_SIZE )
-            errors.add( GameStatus.COLUMNS_ABOVE_MAX );
         if( rows < MIN_AXIS_SIZE )
             errors.add( GameStatus.ROWS_BELOW_MIN);
-        if( rows > MAX_AXIS_SIZE )
-            errors.add( GameStatus.ROWS_ABOVE_MAX );
-        if( mines > (area * MAX_MINE_PERCENT) ) 
+        // Large boards have their own axis limits.
+        if( params.isLargeBoard() ) {
+            if( columns > getMaxLargeAxisSize() )
+                errors.add( GameStatus.COLUMNS_ABOVE_LARGE_MAX );
+            if( rows > getMaxLargeAxisSize() )
+                errors.add( GameStatus.ROWS_ABOVE_LARGE_MAX );
+        }
+        else {
+            if( columns > MAX_AXIS_SIZE )
+                errors.add( GameStatus.COLUMNS_ABOVE_MAX );
+            if( rows > MAX_AXIS_SIZE )
+                errors.add( GameStatus.ROWS_ABOVE_MAX );
+        }
+        // The first move and its neighbors have to stay clear of mines.
+        Topology topology = params.getTopology( );
+        if( mines > (area * MAX_MINE_PERCENT) || 
+            mines > area - (topology.getMaxAdjacent() + 1) ) 
             errors.add( GameStatus.MINES_ABOVE_MAX );
         // Check if the mines are below the minimum allowable amount.
-        if( mines < (area * MIN_MINE_PERCENT) ) 
+        if( mines < (area * getMinMinePercent()) ) 
             errors.add( GameStatus.MINES_BELOW_MIN );
+        if( !supportsTopology(topology) )
+            errors.add( GameStatus.TOPOLOGY_UNSUPPORTED );
+        if( params.getLayers() < 1 || rows % params.getLayers() != 0 )
+            errors.add( GameStatus.LAYERS_UNEVEN );
+        // Only bother with the memory once the board itself is valid.
+        if( errors.isEmpty() && !hasMemoryFor(params) )
+            errors.add( GameStatus.NOT_ENOUGH_MEMORY );
         
         // If there were no errors just return null.
         if( errors.isEmpty() )
@@ -190,6 +245,86 @@ public class MineSweeper implements ModelAPI,
         
     } // End of checkValidParams( )
     
+    /**
+     * This function gets the lowest share of a board that has to be mines. 
+     * Subclasses whose grid only stores the mines can allow fewer.
+     * 
+     * @return The minimum mines as a fraction of the area.
+     */
+    protected double getMinMinePercent( ) {
+        return MIN_MINE_PERCENT;
+        
+    } // End of getMinMinePercent( )
+    
+    /**
+     * This function gets the longest axis of a large board. Subclasses whose 
+     * grid doesn't grow with the area can allow longer ones, as long as the 
+     * index of every node still fits in an int.
+     * 
+     * @return The maximum rows or columns of a large board.
+     */
+    protected int getMaxLargeAxisSize( ) {
+        return MAX_LARGE_AXIS_SIZE;
+        
+    } // End of getMaxLargeAxisSize( )
+    
+    /**
+     * This function checks if a game can be played on some topology. Every 
+     * topology is driven by the AdjacencyTable, so the standard game plays 
+     * them all. Subclasses with a grid that can't should override it.
+     * 
+     * @param topology The Topology of the board.
+     * @return True if the topology can be played.
+     */
+    protected boolean supportsTopology( Topology topology ) {
+        return true;
+        
+    } // End of supportsTopology( )
+    
+    /**
+     * This function is used to estimate how many bytes of the heap a game will
+     *  need. It is only a rough figure and is meant to catch boards that will 
+     * never fit. Subclasses that keep their grid somewhere else should 
+     * override it to leave the grid out.
+     * 
+     * @param params A GameParameters object of the game parameters.
+     * @return The estimated number of bytes.
+     */
+    protected long estimateMemory( GameParameters params ) {
+        long area = params.getArea( );
+        // Normal boards are tiny, and are also labeled and fully buttoned.
+        if( area <= MAX_STANDARD_SIZE )
+            return 0;
+        
+        return area * LARGE_BYTES_PER_NODE;
+        
+    } // End of estimateMemory( )
+    
+    /**
+     * This function checks if the JVM has enough free memory for a game.
+     * 
+     * @param params A GameParameters object of the game parameters.
+     * @return True if the estimated memory is available, false otherwise.
+     */
+    private boolean hasMemoryFor( GameParameters params ) {
+        return hasHeapFor( estimateMemory(params) );
+        
+    } // End of hasMemoryFor( )
+    
+    /**
+     * This function checks if the heap has some number of bytes free.
+     * 
+     * @param bytes The number of bytes needed.
+     * @return True if the bytes are available, false otherwise.
+     */
+    private static boolean hasHeapFor( long bytes ) {
+        Runtime runtime = Runtime.getRuntime( );
+        long used = runtime.totalMemory( ) - runtime.freeMemory( );
+        
+        return bytes <= runtime.maxMemory( ) - used;
+        
+    } // End of hasHeapFor( )
+    
     /**
      * This function is used to return a set of game parameters to the adapter.
      * 
@@ -212,12 +347,16 @@ public class MineSweeper implements ModelAPI,
     public void createNewGame( int[] coordinate ) {
         // Create the playing grid.
         createLandGrid( );
-        // Generate random and unique mine coordinates.
+        // Generate random and unique mine locations and arm them.
         generateMineLocations( coordinate );
-        // Arm the mines.
-        setMineLocations( );
         // Generate proximity values for all nodes adjacent to the mines.
         generateProximityValues( );
+        // Label the openings so each one can be revealed in one go.
+        labelOpenings( );
+        // Measure the board, unless that would count every node of a lazy 
+        // grid. Those are measured if they are asked for.
+        if( !landGrid.isLazyProximity() )
+            metrics = BoardMetrics.measure( landGrid, adjacency );
         // Start the timer for the game
         timer = new MineSweeperTimer( adapter );
         timer.start( );
@@ -233,9 +372,23 @@ public class MineSweeper implements ModelAPI,
      */
     @Override
     public Marking nextMarking( int[] coordinate ) {
+        return nextMarking( landGrid.getIndex(coordinate) );
+        
+    } // End of nextMarking( )
+    
+    /**
+     * This function is used to iterate through the marked states for the node.
+     * Additionally, it adds or removes 1 from the current count of markings.
+     * 
+     * @param index The index of the node.
+     * @return The current marking after the marked state switch.
+     */
+    @Override
+    public Marking nextMarking( int index ) {
         
-        // Get the current Marked status.
-        Marking currentStatus = getNode( coordinate ).getMarking();
+        // Get the current Marked status of the node.
+        Marking currentStatus = landGrid.getMarking( index );
+        journal.beginMove( );
         
         // We need to do different behavior based off of the marking count.
         // If we are at or above the total mine count we cannot add more flags.
@@ -247,9 +400,10 @@ public class MineSweeper implements ModelAPI,
             // Otherwise we can remove the flag
             else {
                 // Pivot to the next marking state
-                Marking status = getNode( coordinate ).nextMarking( );
+                Marking status = cycleMarking( index );
+                journal.recordMarking( index, currentStatus, status );
                 // Change the marking count.
-                markingCountSwitch( status );
+                markingCountSwitch( index, status );
                 setViewMarkingCount( );
                 // Return the new marking state.
                 return status;
@@ -257,9 +411,10 @@ public class MineSweeper implements ModelAPI,
         }
         
         // Pivot to the next marking state.
-        Marking status = getNode( coordinate ).nextMarking( );
+        Marking status = cycleMarking( index );
+        journal.recordMarking( index, currentStatus, status );
         // Change the marking count.
-        markingCountSwitch( status );
+        markingCountSwitch( index, status );
         // Send the marking count to the adapter and then the view.
         setViewMarkingCount( );
         // Check for the win condition.
@@ -269,134 +424,346 @@ public class MineSweeper implements ModelAPI,
         
     } // End of nextMarking( )
     
+    /**
+     * This function is used to switch a node to its next marking in the grid,
+     *  keeping the board hash in step.
+     * 
+     * @param index The index of the node.
+     * @return The marked state of the node after the state has changed.
+     */
+    private Marking cycleMarking( int index ) {
+        boardHash.toggle( landGrid, index );
+        Marking status = landGrid.nextMarking( index );
+        boardHash.toggle( landGrid, index );
+        
+        return status;
+        
+    } // End of cycleMarking( )
+    
     /**
      * This function is used to increment or decrement the current count of 
-     * MARKED nodes. 
+     * MARKED nodes. A hidden node counts as activated while it is MARKED, so 
+     * the count of activated nodes follows along.
      * 
+     * @param index The index of the node that changed.
      * @param status The (newest) marking status.
      */
-    private void markingCountSwitch( Marking status ) {
+    private void markingCountSwitch( int index, Marking status ) {
+        int change = 0;
         switch( status ) {
             case NOT_MARKED:
                 break;
             case MARKED:
-                markingCount++;
+                change = 1;
                 break;
             case QUESTIONED:
-                markingCount--;
+                change = -1;
                 break;
         }
+        markingCount += change;
+        if( !landGrid.isRevealed(index) ) {
+            activatedCount += change;
+        }
+        if( change != 0 ) {
+            countMarkedNearby( index, change );
+        }
         
     } // End of markingCountSwitch( )
     
+    /**
+     * This function is used to add to the count of MARKED neighbors of every 
+     * node adjacent to a node that was flagged or unflagged. Keeping the 
+     * counts up to date means a chord never has to look at its neighbors.
+     * 
+     * @param index The index of the node that changed.
+     * @param change 1 if the node was MARKED, -1 if the flag was taken off.
+     */
+    private void countMarkedNearby( int index, int change ) {
+        if( !keepsMarkedNearby() ) {
+            return;
+        }
+        if( markedNearby == null || markedNearby.length < landGrid.getSize() ) {
+            markedNearby = new byte[landGrid.getSize()];
+        }
+        int count = adjacency.getAdjacent( index, markingBuffer );
+        for( int i = 0; i < count; i++ ) {
+            markedNearby[markingBuffer[i]] += change;
+        }
+        
+    } // End of countMarkedNearby( )
+    
+    /**
+     * This function is used to get the number of MARKED nodes next to a node.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @return The number of adjacent nodes that are MARKED.
+     */
+    @Override
+    public int getMarkedNearby( int[] coordinate ) {
+        return getMarkedNearby( landGrid.getIndex(coordinate) );
+        
+    } // End of getMarkedNearby( )
+    
+    /**
+     * This function is used to get the number of MARKED nodes next to a node.
+     * 
+     * @param index The index of the node.
+     * @return The number of adjacent nodes that are MARKED.
+     */
+    private int getMarkedNearby( int index ) {
+        if( keepsMarkedNearby() ) {
+            return ( markedNearby == null ) ? 0 : markedNearby[index];
+        }
+        // Otherwise look at the neighbors themselves.
+        int count = adjacency.getAdjacent( index, markingBuffer );
+        int marked = 0;
+        for( int i = 0; i < count; i++ ) {
+            if( landGrid.getMarking(markingBuffer[i]) == Marking.MARKED ) {
+                marked++;
+            }
+        }
+        
+        return marked;
+        
+    } // End of getMarkedNearby( )
+    
+    /**
+     * This function checks if the game keeps a count of the MARKED neighbors 
+     * of every node. The counts cost a byte per node on the heap, so games 
+     * that keep their grid off the heap should override it and have the flags
+     *  around a node counted when they are asked for instead.
+     * 
+     * @return True to keep a count per node, false to count on demand.
+     */
+    protected boolean keepsMarkedNearby( ) {
+        return true;
+        
+    } // End of keepsMarkedNearby( )
+    
+    /**
+     * This function is used to see if a revealed node has as many MARKED 
+     * neighbors as nearby mines, which is when a chord on it will reveal the 
+     * rest of its neighbors. It is a single comparison, so a solver can check
+     *  every node of the board cheaply.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @return True if the node is revealed, safe, and has all its flags.
+     */
+    @Override
+    public boolean isSatisfied( int[] coordinate ) {
+        int index = landGrid.getIndex( coordinate );
+        
+        return landGrid.isRevealed( index ) && !landGrid.isArmed( index ) &&
+               getMarkedNearby( index ) == landGrid.getProximityCount( index );
+        
+    } // End of isSatisfied( )
+    
+    /**
+     * This function is used to reveal a node internally and keep the running 
+     * counts of revealed and activated nodes up to date. Every reveal in the 
+     * model should go through here.
+     * 
+     * @param index The index of the node.
+     */
+    private void setRevealed( int index ) {
+        if( landGrid.isRevealed(index) ) {
+            return;
+        }
+        // A MARKED node is already counted as activated.
+        if( landGrid.getMarking(index) != Marking.MARKED ) {
+            activatedCount++;
+        }
+        if( !landGrid.isArmed(index) ) {
+            revealedCount++;
+        }
+        boardHash.toggle( landGrid, index );
+        landGrid.revealNode( index );
+        boardHash.toggle( landGrid, index );
+        journal.recordReveal( index );
+        
+    } // End of setRevealed( )
+    
     /**
      * This function is used to generate the proximity values of each node that
      *  is adjacent to a mine.
      * 
-     * The goal is to increment the values of all adjacent nodes at the 
-     * following positions:
+     * Each node counts the mines at the following positions around it:
      * 
      * (x-1, y-1),  (x, y-1),   (x+1, y-1)
      * (x-1, y),    (x, y),     (x+1, y)
      * (x-1, y+1),  (x, y+1),   (x+1, y+1)
      * 
+     * The land grid does the counting, a row at a time where it can. Large 
+     * grids are left lazy instead, so each node is only counted once it is 
+     * revealed. A game set to count eagerly counts large grids up front on 
+     * every core, which costs more to start but makes every count ready for 
+     * solvers and board metrics.
      */
-    private void generateProximityValues( ) {
-        for( int[] position : mineLocations ) {
-            // Get a list of nodes near each mine.
-            int[][] nodes = getAdjacentNodes( position );
-            // Iterate through the nearby node list to increment their values.
-            for( int[] coordinate : nodes ) {
-                getNode( coordinate ).incrementProximityCount();
+    protected void generateProximityValues( ) {
+        landGrid.setLazyProximity( useLazyProximity() );
+        if( landGrid.isLazyProximity() ) {
+            return;
+        }
+        // Only square grids can be counted a row at a time. On the others 
+        // each mine adds one to every node next to it.
+        if( adjacency.getTopology() != Topology.SQUARE ) {
+            for( int index = 0; index < landGrid.getSize(); index++ ) {
+                if( !landGrid.isArmed(index) ) {
+                    continue;
+                }
+                int count = adjacency.getAdjacent( index, adjacentBuffer );
+                for( int i = 0; i < count; i++ ) {
+                    landGrid.incrementProximityCount( adjacentBuffer[i] );
+                }
             }
+            return;
+        }
+        // Giant grids that are counted eagerly use every core.
+        if( isParallelBuild() ) {
+            ParallelMineLayout.countProximity( landGrid );
+            return;
         }
+        landGrid.computeProximity( );
         
     } // End of generateProximityValues( )
     
     /**
      * This function is used to generate the mine locations for the playing 
-     * grid. All values are guaranteed to be unique, within bounds, and outside 
-     * of the starting 'safe' zone.
+     * grid and arm them. All values are guaranteed to be unique, within bounds,
+     *  and outside of the starting 'safe' zone.
+     * 
+     * The nodes outside of the safe zone are numbered 0 to (free - 1) and a 
+     * random set of them is picked with Floyd's sampling algorithm. The armed 
+     * status of the grid doubles as the set of picked nodes, so there are no 
+     * retries and no uniqueness scans. If more than half of the free nodes get
+     *  a mine it is cheaper to arm every free node and pick the ones that stay
+     *  clear instead.
      * 
      * @param coordinate The (x, y) coordinate of the node.
      */
     private void generateMineLocations( int[] coordinate ) {
-        // Set a reference for the mine locations array.
-        mineLocations = new int[params.getMines()][2];
+        int mines = params.getMines( );
         // Determine the 'safe zone' around the first used coordinate.
-        int[][] safeNodes = getAdjacentNodes( coordinate );
-        // A reusable reference for the mineCoordinate.
-        int[] mineCoordinate;
+        int[] safeNodes = new int[AdjacencyTable.MAX_ADJACENT + 1];
+        safeNodes[0] = landGrid.getIndex( coordinate );
+        int safeCount = 1 + adjacency.getAdjacent( safeNodes[0], 
+                                                   adjacentBuffer );
+        System.arraycopy( adjacentBuffer, 0, safeNodes, 1, safeCount - 1 );
+        // The safe zone has to be sorted to number the free nodes.
+        Arrays.sort( safeNodes, 0, safeCount );
+        int free = landGrid.getSize( ) - safeCount;
+        // The generator belongs to this game alone, so the same seed and first
+        // move always give the same grid and games never share any state.
+        SplittableRandom random = new SplittableRandom( params.getSeed() );
         
-        // Loop for the specified amount of mines.
-        for( int i = 0; i < params.getMines(); i++ ) {
-            
-            // Generate a new (x, y) coordinate.
-            do {
-                
-                mineCoordinate = new int[] {
-                    RANDOM.nextInt( params.getColumns() ),
-                    RANDOM.nextInt( params.getRows() )
-                };
-            // Repeat the (x, y) creation if they fail either check.
-            } while( !ensureUniquePositions(mineLocations, mineCoordinate) || 
-                     !ensureSafeZone(mineCoordinate, safeNodes) );
-            
-            mineLocations[i] = mineCoordinate;
+        // Giant grids are split into bands that are armed on every core.
+        if( isParallelBuild() ) {
+            ParallelMineLayout.placeMines( landGrid, mines, safeNodes, 
+                                           safeCount, random );
+            return;
+        }
+        
+        // Pick the mines directly when the board is sparse enough.
+        if( mines <= free / 2 ) {
+            for( int j = free - mines; j < free; j++ ) {
+                int node = getFreeNode( random.nextInt(j + 1), 
+                                        safeNodes, safeCount );
+                // If it was already picked, pick the newest number instead.
+                if( landGrid.isArmed(node) ) {
+                    node = getFreeNode( j, safeNodes, safeCount );
+                }
+                landGrid.setArmedStatus( node, true );
+            }
+        }
+        // Otherwise arm everything and pick the nodes that stay clear.
+        else {
+            for( int j = 0; j < free; j++ ) {
+                landGrid.setArmedStatus( getFreeNode(j, safeNodes, safeCount),
+                                         true );
+            }
+            for( int j = mines; j < free; j++ ) {
+                int node = getFreeNode( random.nextInt(j + 1), 
+                                        safeNodes, safeCount );
+                // If it was already picked, pick the newest number instead.
+                if( !landGrid.isArmed(node) ) {
+                    node = getFreeNode( j, safeNodes, safeCount );
+                }
+                landGrid.setArmedStatus( node, false );
+            }
         }
-
         
     } // End of generateMineLocations( )
     
     /**
-     * This function is used to map the mine locations to the land grid and then
-     *  arm the mines.
+     * This function checks if the proximity values should be left until the 
+     * nodes are revealed. Most nodes of a large game are never revealed, and 
+     * large games have no openings labeled that would need every count. A 
+     * game set to count eagerly is never lazy. Subclasses can override it to 
+     * pick the mode some other way.
+     * 
+     * @return True if the proximity values are counted on demand.
      */
-    private void setMineLocations( ) {
-        // Iterate through the mine locations.
-        for( int[] coordinate : mineLocations ) {
-            // Get the node and arm it.
-            getNode( coordinate ).setArmedStatus( true );
-        }
+    protected boolean useLazyProximity( ) {
+        return !eagerProximity && landGrid.getSize() > MAX_STANDARD_SIZE && 
+               adjacency.getTopology() == Topology.SQUARE;
         
-    } // End of setMineLocations( )
+    } // End of useLazyProximity( )
     
     /**
-     * This function is used to ensure a set of unique coordinate values.
+     * This function checks if large grids have every proximity value counted 
+     * when their mines are placed.
      * 
-     * @param positions The array of coordinates to check.
-     * @param coordinate The (x, y) coordinate to check for.
-     * @return True if the coordinate is unique, false otherwise.
+     * @return True if large grids are counted eagerly.
      */
-    private boolean ensureUniquePositions( int[][] positions,
-                                           int[] coordinate ) {
-        for( int[] position : positions ) {
-            if( Arrays.equals(position, coordinate) )
-                return false;
-        }
+    public boolean isEagerProximity( ) {
+        return eagerProximity;
         
-        return true;
+    } // End of isEagerProximity( )
+    
+    /**
+     * This function is used to pick how the proximity values of large grids 
+     * are counted. By default they are left until each node is revealed. 
+     * Counting them eagerly spreads the work over every core instead, which is
+     *  worth it when something will read most of the counts. It takes effect 
+     * from the next game.
+     * 
+     * @param eager Set to true to count large grids when they are built.
+     */
+    public void setEagerProximity( boolean eager ) {
+        this.eagerProximity = eager;
         
-    } // End of ensureUniquePositions( )
+    } // End of setEagerProximity( )
     
+    /**
+     * This function checks if the grid should be built in parallel. Only grids
+     *  bigger than a normal board are worth it, and the grid has to allow it.
+     * 
+     * @return True if the mines and proximity values are made in parallel.
+     */
+    private boolean isParallelBuild( ) {
+        return landGrid.getSize() > MAX_STANDARD_SIZE && 
+               landGrid.allowsParallelWrites( );
+        
+    } // End of isParallelBuild( )
     
     /**
-     * This function is used to ensure that the first checked node and its 
-     * adjacent nodes are free of mines.
+     * This function is used to map the number of a free node to its index in 
+     * the grid by skipping over the safe zone.
      * 
-     * @param coordinate An (x, y) coordinate of the mine location.
-     * @param safeNodes An array of safe nodes to check against.
-     * @return True if the mine location is not part of the safe zone. False 
-     * otherwise.
+     * @param number The number of the free node, from 0 to (free - 1).
+     * @param safeNodes The sorted indexes of the safe zone.
+     * @param safeCount The number of safe node indexes in use.
+     * @return The index of the free node.
      */
-    private boolean ensureSafeZone( int[] coordinate, int[][] safeNodes ) {
-        for( int[] node : safeNodes ) {
-            if( Arrays.equals(coordinate, node) )
-                return false;
+    private int getFreeNode( int number, int[] safeNodes, int safeCount ) {
+        int index = number;
+        for( int i = 0; i < safeCount && safeNodes[i] <= index; i++ ) {
+            index++;
         }
-        return true;
         
-    } // End of ensureSafeZone( )
+        return index;
+        
+    } // End of getFreeNode( )
     
     /**
      * This function is used to return a set of (x, y) coordinates of the 
@@ -408,24 +775,9 @@ public class MineSweeper implements ModelAPI,
      */
     @Override
     public int[][] getAdjacentNodes( int[] coordinate ) {
-        // Create an array list since the number of nodes are dynamic.
-        ArrayList<int[]> nearbyNodes = new ArrayList<>();
-        
-        // Calculate the x offsets
-        for( int xval = -1; xval <= 1; xval++) {
-            // Calculate the y offsets
-            for( int yval = -1; yval <= 1; yval++ ) {
-                int x = coordinate[0] + xval;
-                int y = coordinate[1] + yval;
-                // If the coordinates are within bounds add them to the list.
-                if( boundsCheck(x, params.getColumns() -1) && 
-                    boundsCheck(y, params.getRows() -1) ) {
-                    nearbyNodes.add( new int[] {x, y} );
-                }
-            }
-        }
-        // Convert the ArrayList to an array of coordinates and return them.
-        return nearbyNodes.toArray( new int[nearbyNodes.size()][] );
+        // Make sure there is a table even before the grid is created.
+        fitAdjacency( );
+        return adjacency.getAdjacentNodes( coordinate );
         
     } // End of getAdjacentNodes( )
     
@@ -443,34 +795,204 @@ public class MineSweeper implements ModelAPI,
     } // End of boundsCheck( )
     
     /**
-     * This function is used to create the landGrid to specifications and to 
-     * instantiate all LandNode objects within the landGrid.
+     * This function is used to create the landGrid to specifications. The grid
+     *  is a single packed array so no LandNode objects are created here.
      */
     private void createLandGrid( ) {
-        // Create the landGrid dimensions.
-        landGrid = new LandNode[params.getRows()][params.getColumns()];
-        // Iterate through each row.
-        for( LandNode[] nodeRow : landGrid ) {
-            // Iterate through each column.
-            for( int x = 0; x < nodeRow.length; x++ ) {
-                // Create a new LandNode.
-                nodeRow[x] = new LandNode( );
+        int rows = params.getRows( );
+        int columns = params.getColumns( );
+        // Reset the grid of the last game in place if it can take this one.
+        if( spareGrid != null && spareGrid.getMaxProximityCount() >= 
+                params.getTopology().getMaxAdjacent() && 
+            spareGrid.reuse(rows, columns) )
+            landGrid = spareGrid;
+        else
+            landGrid = newLandGrid( rows, columns );
+        spareGrid = null;
+        fitAdjacency( );
+        
+    } // End of createLandGrid( )
+    
+    /**
+     * This function is used to make sure the adjacency table matches the shape
+     *  of the board. The table only needs to change with the board shape.
+     */
+    private void fitAdjacency( ) {
+        if( adjacency == null || 
+            !adjacency.fits(params.getRows(), params.getColumns(), 
+                            params.getTopology(), params.getLayers()) ) {
+            adjacency = new AdjacencyTable( params.getRows(), 
+                                            params.getColumns(), 
+                                            params.getTopology(), 
+                                            params.getLayers() );
+        }
+        
+    } // End of fitAdjacency( )
+    
+    /**
+     * This function is used to pick a game back up from a grid that was 
+     * already played on, such as one mapped from a file. The game parameters 
+     * and running counts are rebuilt from the grid in a single pass, so 
+     * nothing else has to be saved with it. The grid stays lazy if it was 
+     * saved lazy, and a large grid goes lazy the same as a new game would.
+     * 
+     * @param grid A grid with its mines already placed.
+     * @return True if the game was resumed, false if the grid has no mines or
+     *  its game is already over.
+     */
+    protected boolean resumeGame( LandGrid grid ) {
+        return resumeGame( grid, Topology.SQUARE, 1 );
+        
+    } // End of resumeGame( )
+    
+    /**
+     * This function is used to pick a game back up from a grid that was 
+     * played on some other Topology.
+     * 
+     * @param grid A grid with its mines already placed.
+     * @param topology The Topology of the board.
+     * @param layers The number of layers of a cubic board, otherwise 1.
+     * @return True if the game was resumed, false if the grid has no mines, 
+     * the game on it was already lost or won, or the game can't be played on 
+     * its board.
+     */
+    protected boolean resumeGame( LandGrid grid, Topology topology, 
+                                  int layers ) {
+        // Don't let clearGame( ) release the grid we are resuming from.
+        if( landGrid == grid )
+            landGrid = null;
+        clearGame( );
+        int mines = 0;
+        boolean lost = false;
+        for( int index = 0; index < grid.getSize(); index++ ) {
+            if( grid.isArmed(index) ) {
+                mines++;
+                // A mine that was stepped on is revealed without a marking.
+                lost |= grid.isRevealed( index ) && 
+                        grid.getMarking( index ) == Marking.NOT_MARKED;
+            }
+            if( grid.getMarking(index) == Marking.MARKED ) {
+                markingCount++;
+            }
+            if( grid.isRevealed(index) && !grid.isArmed(index) ) {
+                revealedCount++;
+            }
+            if( grid.isActivated(index) ) {
+                activatedCount++;
+            }
+            boardHash.toggle( grid, index );
+        }
+        // A grid without mines was never started, and a game that was lost or 
+        // won is over.
+        boolean won = markingCount == mines && 
+                      activatedCount == grid.getSize( );
+        if( mines == 0 || lost || won || 
+            !supportsTopology(topology) || layers < 1 || 
+            grid.getRows() % layers != 0 || 
+            grid.getMaxProximityCount() < topology.getMaxAdjacent() ) {
+            clearGame( );
+            return false;
+        }
+        int rows = grid.getRows( );
+        int columns = grid.getColumns( );
+        params = new GameParameters( mines, rows, columns, 
+                rows > MAX_AXIS_SIZE || columns > MAX_AXIS_SIZE )
+                .withTopology( topology, layers );
+        landGrid = grid;
+        fitAdjacency( );
+        // A grid saved lazy has no counts stored for its hidden nodes, and a 
+        // large grid is played lazy whether it was saved that way or not.
+        landGrid.setLazyProximity( grid.isLazyProximity() || 
+                                   useLazyProximity() );
+        // Count the flags around every node of the resumed grid.
+        for( int index = 0; index < grid.getSize(); index++ ) {
+            if( grid.getMarking(index) == Marking.MARKED ) {
+                countMarkedNearby( index, 1 );
             }
         }
+        labelOpenings( );
+        firstMove = false;
+        // Start the timer for the game
+        timer = new MineSweeperTimer( adapter );
+        timer.start( );
         
-    } // End of createLandGrid( )
+        return true;
+        
+    } // End of resumeGame( )
+    
+    /**
+     * This function is used to pick the LandGrid backend of the game. 
+     * Subclasses can override it to store the grid some other way.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @return A new, empty LandGrid.
+     */
+    protected LandGrid newLandGrid( int rows, int columns ) {
+        // Proximity counts too big for a packed cell get a byte of their own.
+        if( params.getTopology().getMaxAdjacent() > 
+                LandGrid.MAX_PROXIMITY_COUNT )
+            return new WideLandGrid( rows, columns );
+        
+        return new PackedLandGrid( rows, columns );
+        
+    } // End of newLandGrid( )
+    
+    /**
+     * This function returns the LandGrid of the current game.
+     * 
+     * @return The LandGrid or null if there is no game.
+     */
+    protected LandGrid getLandGrid( ) {
+        return landGrid;
+        
+    } // End of getLandGrid( )
+    
+    /**
+     * This function is used to label the openings of a newly generated grid.
+     * Subclasses that reveal openings some other way can skip it.
+     */
+    protected void labelOpenings( ) {
+        // The labels cost several ints per node, so large grids go without 
+        // and have their openings walked on demand instead.
+        if( landGrid.getSize() > MAX_STANDARD_SIZE ) {
+            openings = null;
+            return;
+        }
+        // Relabel the openings of the last game in place when there are some.
+        if( spareOpenings != null ) {
+            openings = spareOpenings;
+            openings.relabel( landGrid, adjacency );
+        }
+        else
+            openings = new OpeningMap( landGrid, adjacency );
+        spareOpenings = null;
+        
+    } // End of labelOpenings( )
     
     /**
-     * This function is used to fetch a specified land node.
+     * This function is used to fetch a specified land node. The returned node 
+     * is a lightweight view of the cell in the landGrid.
      * 
      * @param coordinate The (x, y) coordinate of the node.
      * @return The specified land node.
      */
     @Override
     public LandNode getNode( int[] coordinate ) {
-        // Since the arrays are references as (row, column) but the (x, y) 
-        // format is (column, row) this function will just map it for us.
-        return landGrid[coordinate[1]][coordinate[0]];
+        return new LandNode( landGrid, landGrid.getIndex(coordinate) );
+        
+    } // End of getNode( )
+    
+    /**
+     * This function is used to fetch a specified land node. The returned node 
+     * is a lightweight view of the cell in the landGrid.
+     * 
+     * @param index The index of the node.
+     * @return The specified land node.
+     */
+    @Override
+    public LandNode getNode( int index ) {
+        return new LandNode( landGrid, index );
         
     } // End of getNode( )
     
@@ -480,10 +1002,33 @@ public class MineSweeper implements ModelAPI,
     @Override
     public void clearGame( ) {
         params = null;
+        // Give back any grid memory outside of the heap right away. What is 
+        // left is kept so the next game can reset it instead of allocating. 
+        // Large grids are let go since holding them could starve the next.
+        if( landGrid != null ) {
+            landGrid.release( );
+            if( landGrid.getSize() <= MAX_STANDARD_SIZE )
+                spareGrid = landGrid;
+        }
+        if( openings != null )
+            spareOpenings = openings;
+        if( revealQueue != null && revealQueue.length > MAX_STANDARD_SIZE )
+            revealQueue = null;
+        // The flag counts are kept the same way, and zeroed in one go.
+        if( markedNearby != null && markedNearby.length > MAX_STANDARD_SIZE )
+            markedNearby = null;
+        else if( markedNearby != null )
+            Arrays.fill( markedNearby, (byte)0 );
         landGrid = null;
-        mineLocations = null;
+        openings = null;
         firstMove = true;
         markingCount = 0;
+        revealedCount = 0;
+        activatedCount = 0;
+        journal.clear( );
+        boardHash.clear( );
+        metrics = null;
+        gameOver = false;
         
     } // End of clearGame( )
     
@@ -493,6 +1038,8 @@ public class MineSweeper implements ModelAPI,
      */
     @Override
     public void winGame( ) {
+        gameOver = true;
+        diff.setState( RevealDiff.State.WON );
         // Stop the timer.
         timer.stopGame();
         // Inform the adapter and give it the elapsed game time.
@@ -507,8 +1054,10 @@ public class MineSweeper implements ModelAPI,
      */
     @Override
     public void loseGame( int[] coordinate ) {
+        gameOver = true;
+        diff.setState( RevealDiff.State.LOST );
         timer.stopGame( );
-        adapter.loseGame( mineLocations, coordinate );
+        adapter.loseGame( getMineIndexes(), coordinate );
         
     } // End of loseGame( )
     
@@ -550,7 +1099,7 @@ public class MineSweeper implements ModelAPI,
         int axis = 0;
         // Get the next random value.
         do {
-            axis = RANDOM.nextInt( MAX_AXIS_SIZE + 1 );
+            axis = ThreadLocalRandom.current( ).nextInt( MAX_AXIS_SIZE + 1 );
         } while (axis < MIN_AXIS_SIZE);
         
         return axis;
@@ -569,7 +1118,7 @@ public class MineSweeper implements ModelAPI,
         int randomMines = 0;
         // Get the next random value.
         do {
-            randomMines = RANDOM.nextInt( area );
+            randomMines = ThreadLocalRandom.current( ).nextInt( area );
         // Repeat if mine count exceeds the min or max boundary.
         } while( !(randomMines >= (area * MIN_MINE_PERCENT) &&
                    randomMines <= (area * MAX_MINE_PERCENT)) );
@@ -580,25 +1129,160 @@ public class MineSweeper implements ModelAPI,
     
     /**
      * This function is used to get a list of the mine locations. Should be used
-     *  by the adapter. 
+     *  by the adapter. The (x, y) coordinates are built from the grid on every
+     *  call, so large boards should use getMineIndexes( ) instead.
      * 
      * @return An int[][] array of all of the mine locations in use.
      */
     @Override
     public int[][] getMineLocations( ) {
-        return mineLocations;
+        int[] mines = getMineIndexes( );
+        if( mines == null )
+            return null;
+        
+        int[][] coordinates = new int[mines.length][];
+        for( int i = 0; i < mines.length; i++ ) {
+            coordinates[i] = landGrid.getCoordinate( mines[i] );
+        }
+        
+        return coordinates;
         
     } // End of getMineLocations( )
     
+    /**
+     * This function is used to get the indexes of all of the mines, in order. 
+     * It is built from the grid on every call.
+     * 
+     * @return An int array of the mine indexes, or null if there is no game.
+     */
+    @Override
+    public int[] getMineIndexes( ) {
+        if( landGrid == null )
+            return null;
+        
+        int[] mines = new int[params.getMines()];
+        int count = 0;
+        for( int index = 0; index < landGrid.getSize(); index++ ) {
+            if( landGrid.isArmed(index) ) {
+                mines[count++] = index;
+            }
+        }
+        
+        return mines;
+        
+    } // End of getMineIndexes( )
+    
+    /**
+     * This function is used to get the number of openings that have not been 
+     * revealed yet.
+     * 
+     * @return The number of openings remaining, or 0 if there is no game.
+     */
+    @Override
+    public int getOpeningsRemaining( ) {
+        if( openings == null )
+            return 0;
+        
+        return openings.getOpeningsRemaining( );
+        
+    } // End of getOpeningsRemaining( )
+    
+    /**
+     * This function is used to get the number of safe nodes that have been 
+     * revealed.
+     * 
+     * @return The number of revealed safe nodes.
+     */
+    @Override
+    public int getRevealedCount( ) {
+        return revealedCount;
+        
+    } // End of getRevealedCount( )
+    
+    /**
+     * This function is used to get the number of activated nodes. A node is 
+     * activated if it has been revealed or MARKED.
+     * 
+     * @return The number of activated nodes.
+     */
+    @Override
+    public int getActivatedCount( ) {
+        return activatedCount;
+        
+    } // End of getActivatedCount( )
+    
+    /**
+     * This function is used to get a 64 bit hash of what the player can see of
+     *  the grid, which is the revealed nodes and the markings. It is kept up 
+     * to date as the game goes, so it costs nothing to ask for. Equal boards 
+     * always give equal hashes, even across games.
+     * 
+     * @return The Zobrist hash of the board, or 0 if nothing is showing.
+     */
+    @Override
+    public long getBoardHash( ) {
+        return boardHash.getHash( );
+        
+    } // End of getBoardHash( )
+    
+    /**
+     * This function is used to get how hard the board is to clear. Boards are
+     *  measured once their mines are placed, apart from lazy grids which are 
+     * only measured the first time they are asked for.
+     * 
+     * @return The BoardMetrics of the board, or null if there is no board.
+     */
+    @Override
+    public BoardMetrics getBoardMetrics( ) {
+        if( metrics == null && landGrid != null && !firstMove )
+            metrics = BoardMetrics.measure( landGrid, adjacency );
+        
+        return metrics;
+        
+    } // End of getBoardMetrics( )
+    
+    /**
+     * This function is used to get a read only snapshot of the playing grid as
+     *  it is right now. Later moves don't change the snapshot. The grid of a 
+     * standard game copies every cell into the snapshot, so a caller that 
+     * takes one after every move should play a TiledMineSweeper, whose 
+     * snapshots only copy the tiles that changed. A grid kept off the heap is 
+     * only copied if the copy fits in the heap.
+     * 
+     * @return A LandSnapshot of the grid, or null if there is no grid yet or 
+     * the copy would not fit in memory.
+     */
+    @Override
+    public LandSnapshot getSnapshot( ) {
+        if( landGrid == null || !hasHeapFor(landGrid.getSize()) )
+            return null;
+        
+        return landGrid.snapshot( ).withShape( params.getTopology(), 
+                                               params.getLayers() );
+        
+    } // End of getSnapshot( )
+    
     /**
      * This function dumps the entire nested array of LandNodes that represents 
-     * the playing grid of the game.
+     * the playing grid of the game. The LandNodes are views built on demand 
+     * from the landGrid, so this should not be used in any hot path.
      * 
-     * @return The nested array of LandNodes.
+     * @return The nested array of LandNodes or null if there is no game.
      */
     @Override
     public LandNode[][] getGrid( ) {
-        return landGrid;
+        if( landGrid == null )
+            return null;
+        
+        LandNode[][] nodes = 
+                new LandNode[landGrid.getRows()][landGrid.getColumns()];
+        // Iterate through each cell and wrap it in a view.
+        for( int index = 0; index < landGrid.getSize(); index++ ) {
+            nodes[index / landGrid.getColumns()][index % landGrid.getColumns()] 
+                    = new LandNode( landGrid, index );
+        }
+        
+        return nodes;
         
     } // End of getGrid( )
     
@@ -613,25 +1297,17 @@ public class MineSweeper implements ModelAPI,
     } // End of getTimer( )
     
     /**
-     * This function is used to check if the user won the game.
+     * This function is used to check if the user won the game. The user wins 
+     * once every mine has been MARKED and every node has been activated. Both 
+     * are tracked as running counts so the check doesn't scan the grid.
      */
     public void checkWinConditions( ) {
-        // If we have marked the maximum amount of mines
-        if( markingCount == params.getMines() ) {
-            // Iterate through the rows
-            for( LandNode[] row : landGrid ) {
-                // Iterate through each node of the row
-                for( LandNode node : row ) {
-                    // If the node has NOT been touched, return
-                    if( !node.isActivated() ) {
-                        return;
-                    }
-                }
-            }
-            
-        }
         // If we arent at the maximum mines, return
-        else {
+        if( markingCount != params.getMines() ) {
+            return;
+        }
+        // If any node has NOT been touched, return
+        if( activatedCount != landGrid.getSize() ) {
             return;
         }
         // If we made it this far we clearly won.
@@ -640,117 +1316,395 @@ public class MineSweeper implements ModelAPI,
     } // End of checkWinConditions( )
     
     /**
-     * This function is used to reveal and return the positions of any nearby 
-     * nodes as a set of (x, y) coordinates.
+     * This function is used to reveal any nearby nodes once the center node 
+     * has as many MARKED neighbors as its proximity count. Any revealed node 
+     * without nearby mines opens up the area around it as well. The MARKED 
+     * neighbors are counted as the flags are placed, so checking the center 
+     * node doesn't look at its neighbors at all.
      * 
      * @param coordinate The (x, y) coordinate of the center node.
+     * @return A RevealDiff of the nodes revealed, good until the next move.
      */
-    public void revealNearbyNodes( int[] coordinate ) {
-        // Set the nearby marked count and prox count.
-        int markedCount = 0;
-        int proxCount = getNode( coordinate ).getProximityCount( );
-        // Create a dynamic list of adjacent nodes.
-        ArrayList<int[]> adjacentNodes = new ArrayList<>();
-        // Get an array of the nearby nodes.
-        int[][] nearbyNodes = getAdjacentNodes( coordinate );
-        
-        // Iterate through the adjacentNodes to determine their Marking state
-        for( int[] node : nearbyNodes ) {
-            // If the node is Marked then increase the count of marked nodes.
-            if( getNode(node).getMarking() == Marking.MARKED ) {
-                markedCount++;
+    public RevealDiff revealNearbyNodes( int[] coordinate ) {
+        return revealNearbyNodes( landGrid.getIndex(coordinate) );
+        
+    } // End of revealNearbyNodes( )
+    
+    /**
+     * This function is used to reveal any nearby nodes once the center node 
+     * has as many MARKED neighbors as its proximity count.
+     * 
+     * @param center The index of the center node.
+     * @return A RevealDiff of the nodes revealed, good until the next move.
+     */
+    @Override
+    public RevealDiff revealNearbyNodes( int center ) {
+        journal.beginMove( );
+        diff.clear( );
+        
+        // If the count of nearby markings are not equal to the prox count
+        if( getMarkedNearby(center) != landGrid.getProximityCount(center) ) {
+            return diff;
+        }
+        // Get the nearby nodes.
+        int count = adjacency.getAdjacent( center, adjacentBuffer );
+        
+        // Iterate through the adjacent nodes to reveal
+        for( int i = 0; i < count; i++ ) {
+            int index = adjacentBuffer[i];
+            // Skip anything marked or already revealed.
+            if( landGrid.getMarking(index) != Marking.NOT_MARKED || 
+                landGrid.isRevealed(index) ) {
+                continue;
             }
-            else {
-                // If not marked and is has not been revealed then add it
-                if( !getNode(node).isRevealed() ) {
-                    adjacentNodes.add( node );
-                }
+            // A wrongly placed flag means we just stepped on a mine.
+            if( landGrid.isArmed(index) ) {
+                setRevealed( index );
+                loseGame( landGrid.getCoordinate(index) );
+                return diff;
+            }
+            // Reveal the node and its opening if it has no nearby mines.
+            revealSafeNode( index );
+            if( landGrid.getProximityCount(index) == 0 ) {
+                revealOpening( index );
+            }
+        }
+        
+        checkWinConditions( );
+        
+        return diff;
+        
+    } // End of revealNearbyNodes( )
+    
+    /**
+     * This function is used to reveal the whole opening around a node without 
+     * any nearby mines. The openings were labeled when the game was created so
+     *  this is a single pass over a precomputed list of nodes. Marked nodes 
+     * are left alone. An opening that was already revealed can still hide 
+     * nodes that were marked at the time and unmarked since, so it is walked 
+     * from the node instead.
+     * 
+     * @param index The index of a node without nearby mines.
+     */
+    protected void revealOpening( int index ) {
+        // Grids without labels have their opening walked instead.
+        if( openings == null ) {
+            floodOpening( index );
+            return;
+        }
+        int opening = openings.getOpening( index );
+        // If the opening was already revealed only walk what is left of it.
+        if( !openings.open(opening) ) {
+            floodOpening( index );
+            return;
+        }
+        for( int position = openings.getStart(opening); 
+             position < openings.getEnd(opening); position++ ) {
+            int node = openings.getNode( position );
+            if( landGrid.isRevealed(node) || 
+                landGrid.getMarking(node) != Marking.NOT_MARKED ) {
+                continue;
             }
+            revealSafeNode( node );
         }
         
-        // If the count of nearby markings are equal to the prox count
-        if( markedCount == proxCount ) {
-            // Iterate through the valid nodes to reveal
-            for( int[] node : adjacentNodes ) {
-                // Reveal the node internally and on the adapter.
-                getNode( node ).revealNode( );
-                adapter.revealNode( node );
-               
-                // If there are no mines nearby then recursively call this
-                if( getNode(node).getProximityCount() == 0 ) {
-                    revealNearbyNodes(node);
+    } // End of revealOpening( )
+    
+    /**
+     * This function is used to reveal the opening around a node when the 
+     * openings were not labeled. It works through an explicit queue of node 
+     * indexes rather than recursion, so a huge open area can't overflow the 
+     * thread stack. A node is revealed as it is queued and the revealed bit 
+     * doubles as the visited bitmap, so every node is queued at most once. 
+     * Walking the opening breadth first keeps only its edge in the queue, so 
+     * the queue grows with the width of the opening rather than its area.
+     * 
+     * @param index The index of a node without nearby mines.
+     */
+    private void floodOpening( int index ) {
+        queueHead = 0;
+        queueSize = 0;
+        queueReveal( index );
+        while( queueSize > 0 ) {
+            int center = revealQueue[queueHead];
+            queueHead = ( queueHead + 1 ) & ( revealQueue.length - 1 );
+            queueSize--;
+            int count = adjacency.getAdjacent( center, openingBuffer );
+            // Reveal every hidden, unmarked, and unarmed neighbor.
+            for( int i = 0; i < count; i++ ) {
+                int node = openingBuffer[i];
+                if( landGrid.isRevealed(node) || landGrid.isArmed(node) || 
+                    landGrid.getMarking(node) != Marking.NOT_MARKED ) {
+                    continue;
+                }
+                revealSafeNode( node );
+                // Only nodes without nearby mines keep the opening going.
+                if( landGrid.getProximityCount(node) == 0 ) {
+                    queueReveal( node );
                 }
             }
         }
         
-    } // End of revealNearbyNodes( )
+    } // End of floodOpening( )
+    
+    /**
+     * This function is used to add a node index to the back of the reveal 
+     * queue. The queue is a ring that doubles when it is full, and is kept for
+     *  the rest of the game.
+     * 
+     * @param index The index of the node to queue.
+     */
+    private void queueReveal( int index ) {
+        if( revealQueue == null ) {
+            revealQueue = new int[64];
+        }
+        else if( queueSize == revealQueue.length ) {
+            // Unroll the ring into the front of a larger one.
+            int[] larger = new int[ revealQueue.length * 2 ];
+            int split = revealQueue.length - queueHead;
+            System.arraycopy( revealQueue, queueHead, larger, 0, split );
+            System.arraycopy( revealQueue, 0, larger, split, queueHead );
+            revealQueue = larger;
+            queueHead = 0;
+        }
+        revealQueue[ (queueHead + queueSize) & (revealQueue.length - 1) ] = 
+                index;
+        queueSize++;
+        
+    } // End of queueReveal( )
+    
+    /**
+     * This function is used to reveal a node known to be safe, and add it to 
+     * the RevealDiff of the move for the view.
+     * 
+     * @param index The index of the node.
+     */
+    protected void revealSafeNode( int index ) {
+        setRevealed( index );
+        diff.add( index, landGrid.getProximityCount(index) );
+        
+    } // End of revealSafeNode( )
     
     /**
      * This function is used to check a node for various properties.
      * 
      * @param coordinate The (x, y) coordinate of the node to check.
+     * @return A RevealDiff of the nodes revealed, good until the next move.
      */
-    public void checkNode( int[] coordinate ) { 
+    public RevealDiff checkNode( int[] coordinate ) { 
+        return checkNode( coordinate[1] * params.getColumns() + coordinate[0] );
+        
+    } // End of checkNode( )
+    
+    /**
+     * This function is used to check a node for various properties. Nothing 
+     * is allocated along the way, apart from setting up the first move. The 
+     * nodes revealed are not sent to the adapter one at a time, they are all 
+     * returned together in a RevealDiff.
+     * 
+     * @param index The index of the node to check.
+     * @return A RevealDiff of the nodes revealed, good until the next move.
+     */
+    @Override
+    public RevealDiff checkNode( int index ) { 
         // If this is the first move of the game.
         if( firstMove ) { 
             // Create the game, display the grid, and set firstMove to false.
-            createNewGame( coordinate );
-            displayGrid( );
+            createNewGame( new int[] { index % params.getColumns(), 
+                                       index / params.getColumns() } );
+            // Printing a large grid to the console would take forever.
+            if( landGrid.getSize() <= MAX_STANDARD_SIZE )
+                displayGrid( );
             firstMove = false;
         }
         
         // Reveal the node.
-        getNode( coordinate ).revealNode( );
+        journal.beginMove( );
+        diff.clear( );
+        setRevealed( index );
         
         // If the node is marked in any way just return to do nothing
-        if( getNode(coordinate).getMarking() != Marking.NOT_MARKED ) {
-            return;
+        if( landGrid.getMarking(index) != Marking.NOT_MARKED ) {
+            return diff;
         }
         // If the node was armed we lost
-        if( getNode(coordinate).isArmed() ) {
+        if( landGrid.isArmed(index) ) {
             // Lose the game.
-            loseGame( coordinate );
+            loseGame( landGrid.getCoordinate(index) );
         }
         // If we didn't step on a mine
         else {
-            // Send the prox count to the adapter
-            adapter.setNodeProx( coordinate,
-                                 getNode(coordinate).getProximityCount() );
-            // If there are no nearby mines
-            if( getNode(coordinate).getProximityCount() == 0 ) {
-                // Set the prox count and then reveal any nearby mines.
-                adapter.setNodeProx( coordinate, 0 );
-                revealNearbyNodes( coordinate );
+            // Add the prox count to the diff for the view.
+            diff.add( index, landGrid.getProximityCount(index) );
+            // If there are no nearby mines reveal the node's whole opening.
+            if( landGrid.getProximityCount(index) == 0 ) {
+                revealOpening( index );
             }
         }
         
         checkWinConditions( );
         
+        return diff;
+        
     } // End of checkNode( )
     
+    /**
+     * This function is used to take back the last move. Every node the move 
+     * changed is put back and sent to the adapter again. Nothing can be taken
+     *  back once the game is won or lost, or while it is paused.
+     * 
+     * @return True if a move was taken back, false otherwise.
+     */
+    @Override
+    public boolean undo( ) {
+        if( landGrid == null || gameOver || timer.isPaused() ) {
+            return false;
+        }
+        if( !journal.undo(new JournalReplay()) ) {
+            return false;
+        }
+        recountOpenings( );
+        setViewMarkingCount( );
+        
+        return true;
+        
+    } // End of undo( )
+    
+    /**
+     * This function is used to redo the last move that was taken back.
+     * 
+     * @return True if a move was redone, false otherwise.
+     */
+    @Override
+    public boolean redo( ) {
+        if( landGrid == null || gameOver || timer.isPaused() ) {
+            return false;
+        }
+        if( !journal.redo(new JournalReplay()) ) {
+            return false;
+        }
+        recountOpenings( );
+        setViewMarkingCount( );
+        checkWinConditions( );
+        
+        return true;
+        
+    } // End of redo( )
+    
+    /**
+     * This function is used to bring the revealed openings back in step with 
+     * the grid after a replay. A move can reveal part of an opening that an 
+     * earlier move already opened, so the openings can't just follow the 
+     * nodes one at a time.
+     */
+    private void recountOpenings( ) {
+        if( openings != null )
+            openings.recount( landGrid );
+        
+    } // End of recountOpenings( )
+    
+    /**
+     * This class plays the moves of the journal back onto the game. It keeps 
+     * the running counts in step with the grid and informs the adapter of 
+     * every node that changed.
+     */
+    private class JournalReplay implements MoveJournal.Replay {
+        
+        /**
+         * This function is used to reveal or hide a run of nodes again.
+         * 
+         * @param start The index of the first node.
+         * @param count The number of nodes, one after the other.
+         * @param revealed True to reveal the nodes, false to hide them.
+         */
+        @Override
+        public void setRevealed( int start, int count, boolean revealed ) {
+            for( int index = start; index < start + count; index++ ) {
+                setRevealed( index, revealed );
+            }
+            
+        } // End of setRevealed( )
+        
+        /**
+         * This function is used to reveal or hide a node again.
+         * 
+         * @param index The index of the node.
+         * @param revealed True to reveal the node, false to hide it.
+         */
+        private void setRevealed( int index, boolean revealed ) {
+            boolean shown = landGrid.getMarking( index ) == Marking.NOT_MARKED;
+            if( revealed ) {
+                // Replays are not recorded, the journal already has them.
+                MineSweeper.this.setRevealed( index );
+                if( shown && !landGrid.isArmed(index) ) {
+                    adapter.revealNode( index );
+                    adapter.setNodeProx( index, 
+                                         landGrid.getProximityCount(index) );
+                }
+                return;
+            }
+            if( !landGrid.isRevealed(index) ) {
+                return;
+            }
+            // Undo the counts kept by setRevealed( ).
+            if( landGrid.getMarking(index) != Marking.MARKED ) {
+                activatedCount--;
+            }
+            if( !landGrid.isArmed(index) ) {
+                revealedCount--;
+            }
+            boardHash.toggle( landGrid, index );
+            landGrid.hideNode( index );
+            boardHash.toggle( landGrid, index );
+            if( shown ) {
+                adapter.hideNode( index );
+            }
+            
+        } // End of setRevealed( )
+        
+        /**
+         * This function is used to put a node back to some marking.
+         * 
+         * @param index The index of the node.
+         * @param marking The Marking the node should have.
+         */
+        @Override
+        public void setMarking( int index, Marking marking ) {
+            // Cycle through the markings so the counts follow along.
+            while( landGrid.getMarking(index) != marking ) {
+                markingCountSwitch( index, cycleMarking(index) );
+            }
+            adapter.setNodeMarking( index, marking );
+            
+        } // End of setMarking( )
+        
+    } // End of JournalReplay class.
+    
     /**
      * This function is used to dump the grid and its contents to the console.
      */
     public void displayGrid( ) { 
-        // Get the grid and iterate through the rows.
-        for( LandNode[] row : landGrid ) {
-            // Iterate through the columns,
-            for( LandNode column : row ) {
-                // If a mine render and asterix
-                if( column.isArmed() )
-                    System.out.print( " *" );
-                else {
-                    // If not a mine and proximity value of 0, render a space
-                    if( column.getProximityCount() == 0 )
-                        System.out.print( "  " );
-                    // If any other proximity value render that number.
-                    else
-                        System.out.print( " " + 
-                            ((Integer)column.getProximityCount()).toString() );
-                }
+        // Build each row in one go rather than printing cell by cell.
+        StringBuilder line = new StringBuilder( landGrid.getColumns() * 2 );
+        // Iterate through every cell of the grid.
+        for( int index = 0; index < landGrid.getSize(); index++ ) {
+            // If a mine render and asterix
+            if( landGrid.isArmed(index) )
+                line.append( " *" );
+            else {
+                // If not a mine and proximity value of 0, render a space
+                if( landGrid.getProximityCount(index) == 0 )
+                    line.append( "  " );
+                // If any other proximity value render that number.
+                else
+                    line.append( ' ' )
+                        .append( landGrid.getProximityCount(index) );
             }
             // New line for start of a new row.
-            System.out.println( );
+            if( (index + 1) % landGrid.getColumns() == 0 ) {
+                System.out.println( line );
+                line.setLength( 0 );
+            }
         }
         System.out.println( );
         
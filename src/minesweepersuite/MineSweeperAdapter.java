@@ -180,7 +180,8 @@ public class MineSweeperAdapter implements AdapterAPI,
                 // If the user had a new best time this automagically creates 
                 // A StatisticEntry object and lets the view know that it was a
                 // new record.
-                stats.newBestTimeAdd(time, mineSweeper.getCurrentGameParams()));
+                stats.newBestTimeAdd(time, mineSweeper.getCurrentGameParams(), 
+                                     mineSweeper.getBoardMetrics()));
  
     } // End of winGame( )
     
@@ -199,11 +200,11 @@ public class MineSweeperAdapter implements AdapterAPI,
     /**
      * This function is called when the game has been 'lost'.
      * 
-     * @param mineLocations An int array of the locations of all of the mines.
+     * @param mineLocations An int array of the indexes of all of the mines.
      * @param coordinate The (x, y) coordinate of the losing move.
      */
     @Override
-    public void loseGame( int[][] mineLocations, int[] coordinate ) { 
+    public void loseGame( int[] mineLocations, int[] coordinate ) { 
         // Inform the view of the loss and pass related information.
         mineSweeperGUI.loseGame( mineLocations, coordinate );
         
@@ -220,13 +221,15 @@ public class MineSweeperAdapter implements AdapterAPI,
     } // End of clearGame( ) 
     
     /**
-     * This function is used to have the model reveal any adjacent nodes.
+     * This function is used to have the model reveal any adjacent nodes. The 
+     * nodes it revealed are handed to the view in a single call.
      * 
      * @param coordinate The (x, y) coordinate of the center node.
      */
     @Override
     public void revealNearbyNodes( int[] coordinate ) { 
-        mineSweeper.revealNearbyNodes( coordinate );
+        RevealDiff diff = mineSweeper.revealNearbyNodes( coordinate );
+        mineSweeperGUI.revealNodes( diff );
         
     } // End of revealNearbyNodes( )
     
@@ -241,6 +244,136 @@ public class MineSweeperAdapter implements AdapterAPI,
         
     } // End of revealNode( )
     
+    /**
+     * This function is used to get the view to hide a node again.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     */
+    @Override
+    public void hideNode( int[] coordinate ) {
+        mineSweeperGUI.hideNode( coordinate );
+        
+    } // End of hideNode( )
+    
+    /**
+     * This function is used to get the view to show the Marking of a node 
+     * that was changed by the model rather than by a click.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     * @param marking The Marking of the node.
+     */
+    @Override
+    public void setNodeMarking( int[] coordinate, Marking marking ) {
+        mineSweeperGUI.nextMarking( coordinate, marking );
+        
+    } // End of setNodeMarking( )
+    
+    /**
+     * This function is used to take back the last move of the game.
+     * 
+     * @return True if a move was taken back, false otherwise.
+     */
+    @Override
+    public boolean undo( ) {
+        return mineSweeper.undo( );
+        
+    } // End of undo( )
+    
+    /**
+     * This function is used to redo the last move that was taken back.
+     * 
+     * @return True if a move was redone, false otherwise.
+     */
+    @Override
+    public boolean redo( ) {
+        return mineSweeper.redo( );
+        
+    } // End of redo( )
+    
+    /**
+     * This function is used to reveal any nearby nodes of a node by its index.
+     * 
+     * @param index The index of the center node.
+     */
+    @Override
+    public void revealNearbyNodes( int index ) { 
+        mineSweeperGUI.revealNodes( mineSweeper.revealNearbyNodes(index) );
+        
+    } // End of revealNearbyNodes( )
+    
+    /**
+     * This function is used to iterate through the Marking state of a node by 
+     * its index.
+     * 
+     * @param index The index of the node to be marked.
+     * @return The current Marking state of the node after the state transition.
+     */
+    @Override
+    public Marking nextMarking( int index ) { 
+        return mineSweeper.nextMarking( index );
+        
+    } // End of nextMarking( )
+    
+    /**
+     * This function simply calls the model's checkNode method with an index. 
+     * The nodes it revealed are handed to the view in a single call.
+     * 
+     * @param index The index of the node to check.
+     */
+    @Override
+    public void checkNode( int index ) {
+        mineSweeperGUI.revealNodes( mineSweeper.checkNode(index) );
+        
+    } // End of checkNode( )
+    
+    /**
+     * This function is used to get the view to reveal a node by its index.
+     * 
+     * @param index The index of the node.
+     */
+    @Override
+    public void revealNode( int index ) {
+        mineSweeperGUI.revealNode( index );
+        
+    } // End of revealNode( )
+    
+    /**
+     * This function is used to get the view to hide a node again by its index.
+     * 
+     * @param index The index of the node.
+     */
+    @Override
+    public void hideNode( int index ) {
+        mineSweeperGUI.hideNode( index );
+        
+    } // End of hideNode( )
+    
+    /**
+     * This function is used to give the view the proximity count of a node by
+     *  its index.
+     * 
+     * @param index The index of the node.
+     * @param prox The proximity count of the node.
+     */
+    @Override
+    public void setNodeProx( int index, int prox ) {
+        mineSweeperGUI.setNodeProx( index, prox );
+        
+    } // End of setNodeProx( )
+    
+    /**
+     * This function is used to get the view to show the Marking of a node by 
+     * its index.
+     * 
+     * @param index The index of the node.
+     * @param marking The Marking of the node.
+     */
+    @Override
+    public void setNodeMarking( int index, Marking marking ) {
+        mineSweeperGUI.nextMarking( index, marking );
+        
+    } // End of setNodeMarking( )
+    
     /**
      * This function is used to iterate through the Marking state of a 
      * particular coordinate.
@@ -255,13 +388,14 @@ public class MineSweeperAdapter implements AdapterAPI,
     } // End of nextMarking( )
     
     /**
-     * This function simply calls the model's checkNode method.
+     * This function simply calls the model's checkNode method. The nodes it 
+     * revealed are handed to the view in a single call.
      * 
      * @param coordinate The (x, y) coordinate of the node to check.
      */
     @Override
     public void checkNode( int[] coordinate ) {
-        mineSweeper.checkNode( coordinate );
+        mineSweeperGUI.revealNodes( mineSweeper.checkNode(coordinate) );
         
     } // End of checkNode( )
     
@@ -300,6 +434,9 @@ public class MineSweeperAdapter implements AdapterAPI,
                 
             case RANDOM:
                 return Mode.getParams( Mode.RANDOM );
+                
+            case LARGE:
+                return Mode.getParams( Mode.LARGE );
         }
         // We shouldn't get here but if we do return null to break stuff.
         return null;
@@ -33,7 +33,6 @@ import java.awt.GridBagLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
-import java.util.Arrays;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import static javax.swing.JFrame.EXIT_ON_CLOSE;
@@ -80,9 +79,14 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
     private final JButton pause;          // Used to pause the game
     private final JButton newGame;        // Used to clear and start a new game
     private final JButton stats;          // Used to view the stats
+    private final JButton undo;           // Used to take back a move
+    private final JButton redo;           // Used to redo a move
     private final JLabel timeLabel;       // Used to see current elapsed time.
     private final JLabel mineRatioLabel;  // Used to see current marked mines.
     private LandButton[][] grid;          // Grid of land buttons.
+    private LandCanvas landCanvas;        // Canvas used for large grids.
+    private AdjacencyTable adjacency;     // Adjacent nodes of the grid.
+    private int columns;                  // Columns, to find nodes by index.
 
     private boolean gameStarted;
     
@@ -113,6 +117,8 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
         pause = new JButton( "Pause" );
         newGame = new JButton( "New Game" );
         stats = new JButton( "Stats" );
+        undo = new JButton( "Undo" );
+        redo = new JButton( "Redo" );
         timeLabel = new JLabel("Time: ");
         mineRatioLabel = new JLabel("Mines: ");
         
@@ -141,10 +147,14 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
         pause.addActionListener( this );
         newGame.addActionListener( this );
         stats.addActionListener( this );
+        undo.addActionListener( this );
+        redo.addActionListener( this );
         
         buttonPanel.add( pause );
         buttonPanel.add( newGame );
         buttonPanel.add( stats );
+        buttonPanel.add( undo );
+        buttonPanel.add( redo );
         // Add stuff to the status panel
         statusPanel.add( timeLabel );
         statusPanel.add( new JPanel() );
@@ -222,6 +232,13 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
                 }
             });
         }
+        // Undo and Redo buttons only work while a game is going on.
+        if( buttonPress.getSource() == undo && gameStarted ) {
+            adapter.undo( );
+        }
+        if( buttonPress.getSource() == redo && gameStarted ) {
+            adapter.redo( );
+        }
         
     } // End of actionPerformed( )
     
@@ -233,9 +250,16 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
      */
     @Override
     public void startGame( int rows, int columns ) {
+        adjacency = new AdjacencyTable( rows, columns );
+        this.columns = columns;
+        gamePanel.removeAll( );
+        // Large grids are drawn on a single canvas instead of with buttons.
+        if( (long)rows * columns > MAX_BUTTON_NODES ) {
+            startCanvasGame( rows, columns );
+            return;
+        }
         // Create the grid.
         grid = new LandButton[rows][columns];
-        gamePanel.removeAll( );
         // Set 1px paddings and buffer space.
         constraints.setInset( 1, 1, 0, 0 );
         
@@ -247,6 +271,7 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
                 constraints.setCoordinates( column, row );
                 // Create the button with new coordinates and ref to adapter.
                 LandButton button = new LandButton( new int[] {column, row}, 
+                                                    row * columns + column,
                                                     adapter );
                 // Initialize the button.
                 button.initComponent( );
@@ -266,6 +291,29 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
         this.repaint( );
         
     } // End of startGame( )
+    
+    /**
+     * This function is called to create a new game on a LandCanvas.
+     * 
+     * @param rows The number of rows of the playing grid.
+     * @param columns The number of columns of the playing grid.
+     */
+    private void startCanvasGame( int rows, int columns ) {
+        landCanvas = new LandCanvas( rows, columns, adapter );
+        landCanvas.initComponent( );
+        gamePanel.add( landCanvas, constraints );
+        // Scroll a node at a time.
+        scrollPane.getVerticalScrollBar().setUnitIncrement( 
+                LandCanvas.NODE_SIZE );
+        scrollPane.getHorizontalScrollBar().setUnitIncrement( 
+                LandCanvas.NODE_SIZE );
+        
+        gameStarted = true;
+        
+        this.validate( );
+        this.repaint( );
+        
+    } // End of startCanvasGame( )
 
     /**
      * This function is used to clear the playing grid.
@@ -273,6 +321,8 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
     @Override
     public void clearGame( ) {
         grid = null;
+        landCanvas = null;
+        adjacency = null;
         gamePanel.removeAll( );
         timeLabel.setText( "Time: ");
         mineRatioLabel.setText( "Mines: ");
@@ -284,11 +334,11 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
      * This function is called when the user loses a game. It really just calls 
      * a another function. Wrapping it this way lets us change things too.
      * 
-     * @param mineLocations An array of (x, y) coordinates of all of the mines.
+     * @param mineLocations An array of the indexes of all of the mines.
      * @param coordinate The (x, y) coordinate of the losing move.
      */
     @Override
-    public void loseGame( int[][] mineLocations, int[] coordinate ) {
+    public void loseGame( int[] mineLocations, int[] coordinate ) {
         endGameReveal( mineLocations, coordinate );
         gameStarted = false;
         
@@ -314,16 +364,64 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
     /**
      * This function can be called to reveal a specific node without being it 
      * being clicked on by the user. Used in conjunction with a reveal-nodes 
-     * mechanism.
+     * mechanism. The model has already checked the node so this only updates 
+     * the button.
      * 
      * @param coordinate The (x, y) coordinate of the node.
      */
     @Override
     public void revealNode( int[] coordinate ) {
-        getNode( coordinate ).reveal();
+        if( landCanvas != null )
+            landCanvas.showRevealed( coordinate );
+        else
+            getNode( coordinate ).showRevealed( );
         
     } // End of revealNode( )
     
+    /**
+     * This function can be called to reveal a node by its index without it 
+     * being clicked on by the user.
+     * 
+     * @param index The index of the node.
+     */
+    @Override
+    public void revealNode( int index ) {
+        if( landCanvas != null )
+            landCanvas.showRevealed( index );
+        else
+            getNode( index ).showRevealed( );
+        
+    } // End of revealNode( )
+    
+    /**
+     * This function is used to hide a node again after its move was taken 
+     * back.
+     * 
+     * @param coordinate The (x, y) coordinate of the node.
+     */
+    @Override
+    public void hideNode( int[] coordinate ) {
+        if( landCanvas != null )
+            landCanvas.hideNode( coordinate );
+        else
+            getNode( coordinate ).coverNode( );
+        
+    } // End of hideNode( )
+    
+    /**
+     * This function is used to hide a node again by its index.
+     * 
+     * @param index The index of the node.
+     */
+    @Override
+    public void hideNode( int index ) {
+        if( landCanvas != null )
+            landCanvas.hideNode( index );
+        else
+            getNode( index ).coverNode( );
+        
+    } // End of hideNode( )
+    
     /**
      * This function is used to pause the game (and hide the landGrid).
      */
@@ -368,7 +466,25 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
     
     @Override
     public void nextMarking( int[] coordinate, Marking marking ) {
-        getNode( coordinate ).nextMarking( marking );
+        if( landCanvas != null )
+            landCanvas.nextMarking( coordinate, marking );
+        else
+            getNode( coordinate ).nextMarking( marking );
+        
+    } // End of nextMarking( )
+    
+    /**
+     * This function is used to show the Marking of a node by its index.
+     * 
+     * @param index The index of the node.
+     * @param marking The Marking of the node.
+     */
+    @Override
+    public void nextMarking( int index, Marking marking ) {
+        if( landCanvas != null )
+            landCanvas.nextMarking( index, marking );
+        else
+            getNode( index ).nextMarking( marking );
         
     } // End of nextMarking( )
     
@@ -377,14 +493,33 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
      * coordinate. 
      * 
      * @param coordinate The (x, y) coordinate of the node.
-     * @return The LandButton object at that coordinate.
+     * @return The LandButton object at that coordinate, or null for a large 
+     * grid drawn on a LandCanvas.
      */
     @Override
     public LandButton getNode( int[] coordinate ) {
+        if( grid == null )
+            return null;
         return grid[coordinate[1]][coordinate[0]];
         
     } // End of getNode( )
     
+    /**
+     * Internal convenience function to retrieve a specific LandButton by its 
+     * index.
+     * 
+     * @param index The index of the node.
+     * @return The LandButton object at that index, or null for a large grid 
+     * drawn on a LandCanvas.
+     */
+    @Override
+    public LandButton getNode( int index ) {
+        if( grid == null )
+            return null;
+        return grid[index / columns][index % columns];
+        
+    } // End of getNode( )
+    
     /**
      * This function is used to see if a specific LandButton was marked by a 
      * user as containing a mine.
@@ -394,6 +529,8 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
      */
     @Override
     public boolean isNodeMarked( int[] coordinate ) {
+        if( landCanvas != null )
+            return landCanvas.isMarkedForMine( coordinate );
         return getNode( coordinate ).isMarkedForMine( );
         
     } // End of isNodeMarked( )
@@ -406,10 +543,49 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
      */
     @Override
     public void setNodeProx( int[] coordinate, int proxCount ) {
-        getNode( coordinate ).setProxCount( proxCount );
+        if( landCanvas != null )
+            landCanvas.setProxCount( coordinate, proxCount );
+        else
+            getNode( coordinate ).setProxCount( proxCount );
         
     } // End of setNodeProx( )
     
+    /**
+     * This function is used to update a node with the mine proximity value by
+     *  its index.
+     * 
+     * @param index The index of the node.
+     * @param proxCount The proximity value to insert.
+     */
+    @Override
+    public void setNodeProx( int index, int proxCount ) {
+        if( landCanvas != null )
+            landCanvas.setProxCount( index, proxCount );
+        else
+            getNode( index ).setProxCount( proxCount );
+        
+    } // End of setNodeProx( )
+    
+    /**
+     * This function is used to show every node revealed by a move. The model 
+     * collects them into a RevealDiff so the whole move arrives in one call.
+     * 
+     * @param diff The RevealDiff of the move.
+     */
+    @Override
+    public void revealNodes( RevealDiff diff ) {
+        if( landCanvas != null ) {
+            landCanvas.revealNodes( diff );
+            return;
+        }
+        for( int i = 0; i < diff.size(); i++ ) {
+            LandButton node = getNode( diff.getIndex(i) );
+            node.showRevealed( );
+            node.setProxCount( diff.getProximityCount(i) );
+        }
+        
+    } // End of revealNodes( )
+    
     /**
      * This function is used to get an array of user marked mine locations.
      * 
@@ -417,6 +593,8 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
      */
     @Override
     public int[][] getMarkedLocations( ) {
+        if( landCanvas != null )
+            return landCanvas.getMarkedLocations( );
         // Create a dynamically sized array list.
         ArrayList<int[]> locations = new ArrayList<>();
         // Iterate through the rows
@@ -473,7 +651,10 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
      * @param coordinate The (x, y) coordinate of the node containing a mine.
      */
     public void setNodeMine( int[] coordinate ) {
-        getNode( coordinate ).revealMine( );
+        if( landCanvas != null )
+            landCanvas.revealMine( coordinate );
+        else
+            getNode( coordinate ).revealMine( );
     
     } // End of setNodeMine( )
     
@@ -487,24 +668,7 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
      */
     @Override
     public int[][] getAdjacentNodes( int[] coordinate ) {
-        // Create an array list since the number of nodes are dynamic.
-        ArrayList<int[]> nearbyNodes = new ArrayList<>();
-        
-        // Calculate the x offsets
-        for( int xval = -1; xval <= 1; xval++) {
-            // Calculate the y offsets
-            for( int yval = -1; yval <= 1; yval++ ) {
-                int x = coordinate[0] + xval;
-                int y = coordinate[1] + yval;
-                // If the coordinates are within bounds add them to the list.
-                if( boundsCheck(x, grid.length -1) && 
-                    boundsCheck(y, grid[0].length -1) ) {
-                    nearbyNodes.add( new int[] {x, y} );
-                }
-            }
-        }
-        // Convert the ArrayList to an array of coordinates and return them.
-        return nearbyNodes.toArray( new int[nearbyNodes.size()][] );
+        return adjacency.getAdjacentNodes( coordinate );
         
     } // End of getAdjacentNodes( )
     
@@ -535,18 +699,29 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
      * This function is used to reveal all unseen mines and void all flags 
      * placed in the wrong location.
      * 
-     * @param mineLocations An array of (x, y) coordinates of all of the mines.
+     * @param mineLocations An array of the indexes of all of the mines.
      * @param coordinate The (x, y) coordinate of the losing move.
      */
-    private void endGameReveal( int[][] mineLocations, int[] coordinate ) {
+    private void endGameReveal( int[] mineLocations, int[] coordinate ) {
         // Disable all of the buttons
         disableLandButtons( );
+        // A large grid reveals itself.
+        if( landCanvas != null ) {
+            landCanvas.endGameReveal( mineLocations );
+            setNodeMine( coordinate );
+            return;
+        }
+        // The mine indexes are in order, so walk them alongside the grid.
+        int next = 0;
         // Iterate through the rows of the playing grid.
-        for( LandButton[] row : grid ) {
+        for( int row = 0; row < grid.length; row++ ) {
             // Iterate through the columns
-            for( LandButton node : row ) {
-                // If the node coordinate is in the set of mine locations
-                if( contains(node.getCoordinate(), mineLocations) ) {
+            for( int column = 0; column < columns; column++ ) {
+                LandButton node = grid[row][column];
+                // If the node is in the set of mine locations
+                if( next < mineLocations.length && 
+                    mineLocations[next] == row * columns + column ) {
+                    next++;
                     // If the node is not Marking.MARKED
                     if( node.getMarking() != Marking.MARKED ) {
                         // Reveal the hidden mine
@@ -568,28 +743,15 @@ public class MineSweeperGUI extends JFrame implements ViewAPI,
     
     } // End of endGameReveal( )
     
-    /**
-     * This function is used to see if a specific (x, y) coordinate is in a 
-     * larger set of coordinates.
-     * @param coordinate The (x, y) coordinate to check.
-     * @param coordinates The set of coordinates to check in.
-     * @return True if the set contains the coordinate, false otherwise.
-     */
-    private boolean contains( int[] coordinate, int[][] coordinates ) {
-        for( int[] node : coordinates ) {
-            if( Arrays.equals( coordinate, node)) {
-                return true;
-            }
-        }
-        return false;
-        
-    } // End of contains( )
-    
     /**
      * This function is used to disable the mouse listener on all of the grid 
      * buttons.
      */
     public void disableLandButtons( ) {
+        if( landCanvas != null ) {
+            landCanvas.removeMouseAdapter( );
+            return;
+        }
         // Iterate through each button on the grid.
         for( LandButton[] row : grid ) {
             for( LandButton button : row ) {
@@ -28,6 +28,7 @@ package minesweepersuite;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 
 /**
  * The MineSweeperStatistics class is a container for a list of StatisticEntry 
@@ -40,6 +41,10 @@ import java.util.Collections;
  */
 public class MineSweeperStatistics implements Serializable {
     
+    // Pinned, along with the classes saved in it, so saved statistics survive
+    // changes to them.
+    private static final long serialVersionUID = 705052117040765867L;
+    
     private final int MAXENTRIES = 10;
     private final ArrayList<StatisticEntry> statisticList;
     
@@ -114,6 +119,22 @@ public class MineSweeperStatistics implements Serializable {
         
     } // End of sortEntries
     
+    /**
+     * This function returns the entries ranked by how fast the board was 
+     * cleared, in 3BV per second, rather than by raw time. Entries saved 
+     * without board metrics come last.
+     * 
+     * @return A new list of the StatisticEntry objects, fastest first.
+     */
+    public ArrayList<StatisticEntry> getEntriesBySpeed( ) {
+        ArrayList<StatisticEntry> ranked = new ArrayList<>( statisticList );
+        ranked.sort( Comparator.comparingDouble( 
+                StatisticEntry::getThreeBVPerSecond ).reversed() );
+        
+        return ranked;
+        
+    } // End of getEntriesBySpeed( )
+    
     /**
      * This function retrieves an entry from the list at a specified point.
      * 
@@ -172,10 +193,25 @@ public class MineSweeperStatistics implements Serializable {
      * @return True if the time is a new record (and added), false otherwise.
      */
     public boolean newBestTimeAdd( long time, GameParameters params ) {
+        return newBestTimeAdd( time, params, null );
+        
+    } // End of newBestTimeAdd( )
+    
+    /**
+     * This function is used to see if the new time fits within the list of 
+     * records, keeping how hard the board was along with it.
+     * 
+     * @param time The Long value of the elapsed game time.
+     * @param params The current Game Parameters object.
+     * @param metrics The BoardMetrics of the board, or null if unknown.
+     * @return True if the time is a new record (and added), false otherwise.
+     */
+    public boolean newBestTimeAdd( long time, GameParameters params, 
+                                   BoardMetrics metrics ) {
         // Check to see if this is a new record.
         if( newBestTime( time ) ) {
             // Add the new entry.
-            statisticList.add( new StatisticEntry( time, params ) );
+            statisticList.add( new StatisticEntry( time, params, metrics ) );
             // Sort it
             Collections.sort( statisticList );
             // Remove the entry outside the max bounds.
@@ -42,7 +42,8 @@ public enum Mode {
     MEDIUM,         // Medium Mode
     HARD,           // Hard mode
     CUSTOM,         // Custom mode (created through view)
-    RANDOM;         // Random mode
+    RANDOM,         // Random mode
+    LARGE;          // Large board mode
 
     // Defined values
     private static final GameParameters EASY_MODE = 
@@ -51,6 +52,8 @@ public enum Mode {
                                     new GameParameters( 40, 16, 16 );
     private static final GameParameters HARD_MODE = 
                                     new GameParameters( 99, 16, 30 );
+    private static final GameParameters LARGE_MODE = 
+                                new GameParameters( 160000, 1000, 1000, true );
     
     // Key-Value store for the enumerated values.
     private final static HashMap<Mode, GameParameters> map = new HashMap<>();
@@ -63,6 +66,7 @@ public enum Mode {
         map.put( HARD,      HARD_MODE );
         map.put( CUSTOM,    null );
         map.put( RANDOM,    null );
+        map.put( LARGE,     LARGE_MODE );
 
     } // End of static initializer.
 
@@ -44,6 +44,8 @@ public interface ModelAPI extends GridAPI {
     public static final int MIN_AXIS_SIZE = 6;
     public static final double MAX_MINE_PERCENT = 0.6;
     public static final double MIN_MINE_PERCENT = 0.1;
+    // Large board constants
+    public static final int MAX_LARGE_AXIS_SIZE = 10000;
     
     // Method declarations
     
@@ -69,5 +71,30 @@ public interface ModelAPI extends GridAPI {
     public LandNode[][] getGrid( );
     public Marking nextMarking( int[] coordinate );
     public int[][] getMineLocations( );
+    public int[] getMineIndexes( );
+    public int getMarkedNearby( int[] coordinate );
+    public boolean isSatisfied( int[] coordinate );
+    
+    // Nodes by index, where the index of (x, y) is y * columns + x.
+    @Override
+    public LandNode getNode( int index );
+    public RevealDiff checkNode( int index );
+    public RevealDiff revealNearbyNodes( int index );
+    public Marking nextMarking( int index );
+    
+    // Progress
+    public int getOpeningsRemaining( );
+    public int getRevealedCount( );
+    public int getActivatedCount( );
+    public long getBoardHash( );
+    public BoardMetrics getBoardMetrics( );
+    
+    // Snapshots. Most grids copy every cell into each one, only a 
+    // TiledMineSweeper shares the cells that did not change.
+    public LandSnapshot getSnapshot( );
+    
+    // Undo
+    public boolean undo( );
+    public boolean redo( );
 
 } // End of ModelAPI interface.
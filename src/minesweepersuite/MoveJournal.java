@@ -0,0 +1,408 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This class is the undo and redo history of a game. Every move is stored as a
+ *  short run of bytes listing the nodes it changed. Each change starts with a 
+ * variable length number holding the distance from the node changed before 
+ * it. A marking change adds one byte with the old and new Marking ordinals.
+ * 
+ * The nodes a move reveals are held back until the move ends, then sorted and
+ *  stored as runs of neighbouring indexes. A run is one change followed by its
+ *  length, so an opening costs a few bytes per row rather than per node, and 
+ * is played back a run at a time.
+ * 
+ * A node changes at most once per move, so the changes of a move can be 
+ * played back in any order. Taking back a move only touches the nodes it 
+ * changed, no matter how big the board is.
+ * 
+ * @author Nicholas Moss
+ */
+public class MoveJournal implements Serializable {
+    
+    /**
+     * This interface is used to play the changes of a move back onto a game.
+     */
+    public interface Replay {
+        
+        /**
+         * This function is used to reveal or hide a run of nodes again.
+         * 
+         * @param start The index of the first node.
+         * @param count The number of nodes, one after the other.
+         * @param revealed True to reveal the nodes, false to hide them.
+         */
+        public void setRevealed( int start, int count, boolean revealed );
+        
+        /**
+         * This function is used to put a node back to some marking.
+         * 
+         * @param index The index of the node.
+         * @param marking The Marking the node should have.
+         */
+        public void setMarking( int index, Marking marking );
+        
+    } // End of Replay interface.
+    
+    // Cached Marking values so we don't clone the array on every lookup.
+    private static final Marking[] MARKINGS = Marking.values( );
+    // The kinds of change, kept in the lowest bit of each entry.
+    private static final int REVEAL = 0;
+    private static final int MARKING = 1;
+    
+    // The encoded changes of every move, back to back.
+    private byte[] data;
+    private int length;
+    // The end of each move in data. A move starts where the last one ends.
+    private int[] moveEnds;
+    // Number of moves recorded, and number of those that are still applied.
+    private int moveCount;
+    private int position;
+    // The move being recorded, if there is one.
+    private boolean open;
+    private int lastIndex;
+    // The nodes revealed by the move being recorded, written when it ends.
+    private transient int[] reveals;
+    private transient int revealCount;
+    
+    /**
+     * Default constructor. Creates an empty journal.
+     */
+    public MoveJournal( ) {
+        data = new byte[ 64 ];
+        moveEnds = new int[ 16 ];
+        clear( );
+        
+    } // End of MoveJournal( )
+    
+    /**
+     * This function is used to throw away every move.
+     */
+    public void clear( ) {
+        length = 0;
+        moveCount = 0;
+        position = 0;
+        open = false;
+        revealCount = 0;
+        
+    } // End of clear( )
+    
+    /**
+     * This function is used to start recording a new move. Any moves that were
+     *  taken back can no longer be redone. The move before is finished first.
+     */
+    public void beginMove( ) {
+        endMove( );
+        moveCount = position;
+        length = getMoveStart( position );
+        open = true;
+        lastIndex = 0;
+        
+    } // End of beginMove( )
+    
+    /**
+     * This function is used to finish the move being recorded. A move that 
+     * didn't change anything is dropped.
+     */
+    public void endMove( ) {
+        if( !open ) {
+            return;
+        }
+        open = false;
+        writeReveals( );
+        if( length == getMoveStart(position) ) {
+            return;
+        }
+        if( position == moveEnds.length ) {
+            moveEnds = Arrays.copyOf( moveEnds, position * 2 );
+        }
+        moveEnds[position++] = length;
+        moveCount = position;
+        
+    } // End of endMove( )
+    
+    /**
+     * This function is used to record a node being revealed. Nothing is 
+     * recorded outside of a move.
+     * 
+     * @param index The index of the node.
+     */
+    public void recordReveal( int index ) {
+        if( !open ) {
+            return;
+        }
+        if( reveals == null ) {
+            reveals = new int[ 64 ];
+        }
+        else if( revealCount == reveals.length ) {
+            reveals = Arrays.copyOf( reveals, revealCount * 2 );
+        }
+        reveals[revealCount++] = index;
+        
+    } // End of recordReveal( )
+    
+    /**
+     * This function is used to record the marking of a node changing. Nothing 
+     * is recorded outside of a move.
+     * 
+     * @param index The index of the node.
+     * @param before The Marking before the change.
+     * @param after The Marking after the change.
+     */
+    public void recordMarking( int index, Marking before, Marking after ) {
+        if( open ) {
+            writeEntry( index, MARKING );
+            writeByte( (before.ordinal() << 2) | after.ordinal() );
+        }
+        
+    } // End of recordMarking( )
+    
+    /**
+     * This function is used to see if there is a move to take back.
+     * 
+     * @return True if a move can be undone, false otherwise.
+     */
+    public boolean canUndo( ) {
+        endMove( );
+        return position > 0;
+        
+    } // End of canUndo( )
+    
+    /**
+     * This function is used to see if there is a move to redo.
+     * 
+     * @return True if a move can be redone, false otherwise.
+     */
+    public boolean canRedo( ) {
+        endMove( );
+        return position < moveCount;
+        
+    } // End of canRedo( )
+    
+    /**
+     * This function is used to take back the last move.
+     * 
+     * @param replay Where to play the changes back to.
+     * @return True if a move was taken back, false if there was none.
+     */
+    public boolean undo( Replay replay ) {
+        if( !canUndo() ) {
+            return false;
+        }
+        position--;
+        play( getMoveStart(position), moveEnds[position], replay, false );
+        
+        return true;
+        
+    } // End of undo( )
+    
+    /**
+     * This function is used to redo the last move that was taken back.
+     * 
+     * @param replay Where to play the changes back to.
+     * @return True if a move was redone, false if there was none.
+     */
+    public boolean redo( Replay replay ) {
+        if( !canRedo() ) {
+            return false;
+        }
+        play( getMoveStart(position), moveEnds[position], replay, true );
+        position++;
+        
+        return true;
+        
+    } // End of redo( )
+    
+    /**
+     * This function is used to get the number of moves that are applied.
+     * 
+     * @return The number of moves that can be undone.
+     */
+    public int getMoveCount( ) {
+        endMove( );
+        return position;
+        
+    } // End of getMoveCount( )
+    
+    /**
+     * This function is used to get the number of bytes used by the moves.
+     * 
+     * @return The number of bytes of encoded changes.
+     */
+    public int getByteCount( ) {
+        endMove( );
+        return length;
+        
+    } // End of getByteCount( )
+    
+    /**
+     * This function is used to get where a move starts in the data.
+     * 
+     * @param move The number of the move.
+     * @return The offset of the first byte of the move.
+     */
+    private int getMoveStart( int move ) {
+        return ( move == 0 ) ? 0 : moveEnds[move - 1];
+        
+    } // End of getMoveStart( )
+    
+    /**
+     * This function is used to decode a run of changes and play them back.
+     * 
+     * @param start The offset of the first byte.
+     * @param end The offset after the last byte.
+     * @param replay Where to play the changes back to.
+     * @param forward True to redo the changes, false to undo them.
+     */
+    private void play( int start, int end, Replay replay, boolean forward ) {
+        int offset = start;
+        int index = 0;
+        while( offset < end ) {
+            // Read the variable length entry.
+            long entry = 0;
+            int shift = 0;
+            int value;
+            do {
+                value = data[offset++];
+                entry |= (long)( value & 0x7F ) << shift;
+                shift += 7;
+            } while( (value & 0x80) != 0 );
+            // Undo the zig-zag encoding of the distance.
+            long distance = entry >>> 1;
+            index += (int)( (distance >>> 1) ^ -(distance & 1) );
+            
+            if( (entry & 1) == REVEAL ) {
+                // The length of the run follows, less one.
+                int count = 0;
+                shift = 0;
+                do {
+                    value = data[offset++];
+                    count |= ( value & 0x7F ) << shift;
+                    shift += 7;
+                } while( (value & 0x80) != 0 );
+                replay.setRevealed( index, count + 1, forward );
+            }
+            else {
+                int markings = data[offset++];
+                int marking = forward ? markings & 0x3 : markings >>> 2;
+                replay.setMarking( index, MARKINGS[marking] );
+            }
+        }
+        
+    } // End of play( )
+    
+    /**
+     * This function is used to write the nodes revealed by the move as runs of
+     *  neighbouring indexes.
+     */
+    private void writeReveals( ) {
+        if( revealCount == 0 ) {
+            return;
+        }
+        Arrays.sort( reveals, 0, revealCount );
+        int start = 0;
+        while( start < revealCount ) {
+            // Stretch the run while the indexes follow on from each other.
+            int end = start + 1;
+            while( end < revealCount && 
+                   reveals[end] == reveals[end - 1] + 1 ) {
+                end++;
+            }
+            writeEntry( reveals[start], REVEAL );
+            writeNumber( end - start - 1 );
+            start = end;
+        }
+        revealCount = 0;
+        // Don't hang on to the buffer of a huge flood.
+        if( reveals.length > 4096 ) {
+            reveals = null;
+        }
+        
+    } // End of writeReveals( )
+    
+    /**
+     * This function is used to write the start of a change. The distance from 
+     * the last node is zig-zag encoded so small jumps either way stay small.
+     * 
+     * @param index The index of the node.
+     * @param kind The kind of change.
+     */
+    private void writeEntry( int index, int kind ) {
+        long distance = (long)index - lastIndex;
+        long entry = ( ((distance << 1) ^ (distance >> 63)) << 1 ) | kind;
+        lastIndex = index;
+        writeNumber( entry );
+        
+    } // End of writeEntry( )
+    
+    /**
+     * This function is used to write a variable length number.
+     * 
+     * @param value The number to write, not negative.
+     */
+    private void writeNumber( long value ) {
+        // Seven bits at a time, with the top bit set on all but the last.
+        while( (value & ~0x7FL) != 0 ) {
+            writeByte( (int)(value & 0x7F) | 0x80 );
+            value >>>= 7;
+        }
+        writeByte( (int)value );
+        
+    } // End of writeNumber( )
+    
+    /**
+     * This function is used to add a single byte to the data.
+     * 
+     * @param value The byte to add.
+     */
+    private void writeByte( int value ) {
+        if( length == data.length ) {
+            data = Arrays.copyOf( data, length * 2 );
+        }
+        data[length++] = (byte)value;
+        
+    } // End of writeByte( )
+    
+    /**
+     * This function is used to finish the move being recorded before the 
+     * journal is saved, since its reveals are not kept with it.
+     * 
+     * @param out The stream to write to.
+     * @throws IOException If the stream can't be written to.
+     */
+    private void writeObject( ObjectOutputStream out ) throws IOException {
+        endMove( );
+        out.defaultWriteObject( );
+        
+    } // End of writeObject( )
+    
+} // End of MoveJournal class.
@@ -32,6 +32,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.text.NumberFormat;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JFormattedTextField;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -75,6 +76,8 @@ public class NewGameWindow extends JFrame implements ActionListener {
     private final JButton mediumButton;
     private final JButton hardButton;
     private final JButton randomButton;
+    private final JButton largeButton;
+    private final JCheckBox largeBoardBox;
         
     /**
      * Default constructor for NewGameWindow. Just initializes objects.
@@ -123,6 +126,8 @@ public class NewGameWindow extends JFrame implements ActionListener {
         mediumButton = new JButton( "Medium" ); 
         hardButton = new JButton( "Hard" );
         randomButton = new JButton( "Random" ); 
+        largeButton = new JButton( "Large" );
+        largeBoardBox = new JCheckBox( "Large board" );
         
     } // End of NewGameWindow( )
     
@@ -149,6 +154,7 @@ public class NewGameWindow extends JFrame implements ActionListener {
         mediumButton.addActionListener( this );
         hardButton.addActionListener( this );
         randomButton.addActionListener( this );
+        largeButton.addActionListener( this );
         
         // Set button sizes for consistency
         startButton.setPreferredSize( buttonSize );
@@ -157,6 +163,7 @@ public class NewGameWindow extends JFrame implements ActionListener {
         mediumButton.setPreferredSize( buttonSize );
         hardButton.setPreferredSize( buttonSize );
         randomButton.setPreferredSize( buttonSize );
+        largeButton.setPreferredSize( buttonSize );
         
         // Main panel - Grid Bag Layout
         mainPanel.setLayout( new GridBagLayout() );
@@ -180,6 +187,8 @@ public class NewGameWindow extends JFrame implements ActionListener {
         mainPanel.add( hardButton, constraints );
         constraints.setCoordinates( 1, 7 );
         mainPanel.add( randomButton, constraints );
+        constraints.setCoordinates( 1, 9 );
+        mainPanel.add( largeButton, constraints );
         
         // Add fields to the right side.
         // Mine count.
@@ -197,17 +206,20 @@ public class NewGameWindow extends JFrame implements ActionListener {
         mainPanel.add( columnCountLabel, constraints );
         constraints.setCoordinates( 6, 5 );
         mainPanel.add( columnCountField, constraints );
+        // Large board toggle.
+        constraints.setCoordinates( 6, 7 );
+        mainPanel.add( largeBoardBox, constraints );
         // Add the start and clear buttons
-        constraints.setCoordinates( 1, 9 );
+        constraints.setCoordinates( 1, 11 );
         mainPanel.add( startButton, constraints );
-        constraints.setCoordinates( 6, 9 );
+        constraints.setCoordinates( 6, 11 );
         mainPanel.add( clearButton, constraints );
         
         // Frame settings.
         mainPanel.setVisible( true );
         this.add( mainPanel );
         this.setDefaultCloseOperation( EXIT_ON_CLOSE );
-        this.setSize( 600, 400 );
+        this.setSize( 600, 460 );
         // This centers the frame on the screen.
         this.setLocationRelativeTo( null );
         this.setVisible( true );
@@ -236,7 +248,8 @@ public class NewGameWindow extends JFrame implements ActionListener {
             GameParameters params = new GameParameters(
                         mineCountField.getText(),
                         rowCountField.getText(),
-                        columnCountField.getText() );
+                        columnCountField.getText(),
+                        largeBoardBox.isSelected() );
             
             if( adapter.startNewGame( params ) ) 
                 disposeWindow( );
@@ -267,6 +280,11 @@ public class NewGameWindow extends JFrame implements ActionListener {
             modeButton( Mode.RANDOM );
         }
         
+        // Large Button
+        if( buttonPress.getSource() == largeButton ) {
+            modeButton( Mode.LARGE );
+        }
+        
     } // End of actionPerformed( )
     
     /**
@@ -303,10 +321,14 @@ public class NewGameWindow extends JFrame implements ActionListener {
         // Get the parameters
         GameParameters params = adapter.getModeParams( mode );
         // If there are no params, set to nothing. Else set to their values.
-        if( params == null ) 
+        if( params == null ) {
             clearCountFields( );
-        else 
+            largeBoardBox.setSelected( false );
+        }
+        else {
             setCountFields( params );
+            largeBoardBox.setSelected( params.isLargeBoard() );
+        }
         
     } // End of modeButton( )
     
@@ -0,0 +1,282 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This class labels every opening of a generated grid. An opening is a 
+ * connected area of nodes without any nearby mines, plus the numbered nodes 
+ * around its border. Clicking any node of the area reveals the whole opening, 
+ * so once the labels exist an opening can be revealed as one batch instead of 
+ * being discovered node by node.
+ * 
+ * The nodes of every opening are stored back to back in a single array. The 
+ * nodes of opening n sit between getStart( n ) and getEnd( n ). Numbered 
+ * border nodes can be listed under more than one opening.
+ * 
+ * @author Nicholas Moss
+ */
+public class OpeningMap implements Serializable {
+    
+    // The opening of each node without nearby mines, NO_OPENING otherwise.
+    public static final int NO_OPENING = -1;
+    private int[] openingOf;
+    // Where the nodes of each opening start in openingNodes.
+    private int[] openingStart;
+    // The nodes of every opening, back to back.
+    private int[] openingNodes;
+    // Which openings have been revealed.
+    private boolean[] opened;
+    private int openingCount;
+    private int openingsRemaining;
+    // Scratch space for walking the openings, kept for the next relabel.
+    private final int[] adjacent = new int[AdjacencyTable.MAX_ADJACENT];
+    private int[] stack = new int[64];
+    
+    /**
+     * Default constructor. Labels the openings of a grid whose mines and 
+     * proximity values have already been set. This is one linear pass over 
+     * the grid.
+     * 
+     * @param grid The LandGrid to label.
+     * @param adjacency The AdjacencyTable of the grid.
+     */
+    public OpeningMap( LandGrid grid, AdjacencyTable adjacency ) {
+        openingOf = new int[grid.getSize()];
+        openingStart = new int[64];
+        openingNodes = new int[64];
+        opened = new boolean[64];
+        relabel( grid, adjacency );
+        
+    } // End of OpeningMap( )
+    
+    /**
+     * This function is used to label the openings of a new grid in place. The
+     *  arrays of the last grid are reused and only grow when they are too 
+     * small, so back to back games don't allocate anything new.
+     * 
+     * @param grid The LandGrid to label.
+     * @param adjacency The AdjacencyTable of the grid.
+     */
+    public void relabel( LandGrid grid, AdjacencyTable adjacency ) {
+        int size = grid.getSize( );
+        int[] starts = openingStart;
+        int[] nodes = openingNodes;
+        int nodeCount = 0;
+        int openings = 0;
+        
+        if( openingOf.length < size ) {
+            openingOf = new int[size];
+        }
+        Arrays.fill( openingOf, 0, size, NO_OPENING );
+        
+        // Every unlabeled node without nearby mines starts a new opening.
+        for( int index = 0; index < size; index++ ) {
+            if( !isEmpty(grid, index) || openingOf[index] != NO_OPENING ) {
+                continue;
+            }
+            if( openings + 1 >= starts.length ) {
+                starts = Arrays.copyOf( starts, starts.length * 2 );
+            }
+            starts[openings] = nodeCount;
+            
+            // Walk the opening with an explicit stack of empty nodes.
+            openingOf[index] = openings;
+            nodes = add( nodes, nodeCount++, index );
+            stack[0] = index;
+            int top = 1;
+            while( top > 0 ) {
+                int count = adjacency.getAdjacent( stack[--top], adjacent );
+                for( int i = 0; i < count; i++ ) {
+                    int node = adjacent[i];
+                    // Numbered nodes are stamped too so they are only listed 
+                    // once per opening. The stamps are cleared below.
+                    if( openingOf[node] == openings ) {
+                        continue;
+                    }
+                    openingOf[node] = openings;
+                    nodes = add( nodes, nodeCount++, node );
+                    if( isEmpty(grid, node) ) {
+                        stack = add( stack, top++, node );
+                    }
+                }
+            }
+            openings++;
+        }
+        starts[openings] = nodeCount;
+        
+        // Clear the stamps left on the numbered border nodes.
+        for( int index = 0; index < size; index++ ) {
+            if( !isEmpty(grid, index) ) {
+                openingOf[index] = NO_OPENING;
+            }
+        }
+        
+        openingStart = starts;
+        openingNodes = nodes;
+        if( opened.length < openings ) {
+            opened = new boolean[openings];
+        }
+        Arrays.fill( opened, 0, openings, false );
+        openingCount = openings;
+        openingsRemaining = openings;
+        
+    } // End of relabel( )
+    
+    /**
+     * This function checks if a node is safe and has no nearby mines.
+     * 
+     * @param grid The LandGrid of the node.
+     * @param index The index of the node.
+     * @return True if the node is part of an opening's inner area.
+     */
+    private static boolean isEmpty( LandGrid grid, int index ) {
+        return !grid.isArmed( index ) && grid.getProximityCount( index ) == 0;
+        
+    } // End of isEmpty( )
+    
+    /**
+     * This function is used to set a value in a growable int array.
+     * 
+     * @param array The array to write to.
+     * @param position The position to write.
+     * @param value The value to write.
+     * @return The array, or a larger copy of it if it was full.
+     */
+    private static int[] add( int[] array, int position, int value ) {
+        if( position == array.length ) {
+            array = Arrays.copyOf( array, array.length * 2 );
+        }
+        array[position] = value;
+        
+        return array;
+        
+    } // End of add( )
+    
+    /**
+     * This function gets the opening of a node.
+     * 
+     * @param index The index of the node.
+     * @return The opening of the node, or NO_OPENING if the node has nearby 
+     * mines.
+     */
+    public int getOpening( int index ) {
+        return openingOf[index];
+        
+    } // End of getOpening( )
+    
+    /**
+     * This function gets the position of the first node of an opening.
+     * 
+     * @param opening The opening.
+     * @return The position of the first node in the opening.
+     */
+    public int getStart( int opening ) {
+        return openingStart[opening];
+        
+    } // End of getStart( )
+    
+    /**
+     * This function gets the position just past the last node of an opening.
+     * 
+     * @param opening The opening.
+     * @return The position after the last node in the opening.
+     */
+    public int getEnd( int opening ) {
+        return openingStart[opening + 1];
+        
+    } // End of getEnd( )
+    
+    /**
+     * This function gets the node index at some position.
+     * 
+     * @param position A position between getStart( ) and getEnd( ).
+     * @return The index of the node.
+     */
+    public int getNode( int position ) {
+        return openingNodes[position];
+        
+    } // End of getNode( )
+    
+    /**
+     * This function gets the total number of openings in the grid.
+     * 
+     * @return The number of openings.
+     */
+    public int getOpeningCount( ) {
+        return openingCount;
+        
+    } // End of getOpeningCount( )
+    
+    /**
+     * This function gets the number of openings that haven't been revealed.
+     * 
+     * @return The number of openings remaining.
+     */
+    public int getOpeningsRemaining( ) {
+        return openingsRemaining;
+        
+    } // End of getOpeningsRemaining( )
+    
+    /**
+     * This function is used to flag an opening as revealed.
+     * 
+     * @param opening The opening.
+     * @return True if the opening was not revealed before, false otherwise.
+     */
+    public boolean open( int opening ) {
+        if( opened[opening] ) {
+            return false;
+        }
+        opened[opening] = true;
+        openingsRemaining--;
+        
+        return true;
+        
+    } // End of open( )
+    
+    /**
+     * This function is used to work out which openings are revealed from the 
+     * grid itself, after moves were taken back or redone. An opening counts 
+     * as revealed once any node of its inner area is, the same as when it is 
+     * played.
+     * 
+     * @param grid The LandGrid the openings were labeled on.
+     */
+    public void recount( LandGrid grid ) {
+        Arrays.fill( opened, 0, openingCount, false );
+        openingsRemaining = openingCount;
+        for( int index = 0; index < grid.getSize(); index++ ) {
+            if( openingOf[index] != NO_OPENING && grid.isRevealed(index) ) {
+                open( openingOf[index] );
+            }
+        }
+        
+    } // End of recount( )
+    
+} // End of OpeningMap class.
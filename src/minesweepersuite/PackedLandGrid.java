@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.util.Arrays;
+
+/**
+ * This class is the default LandGrid backend. Every cell is stored as a single 
+ * byte in one flat array so a full 100x100 grid is one 10,000 byte object 
+ * instead of 10,000 LandNode objects.
+ * 
+ * @author Nicholas Moss
+ */
+public class PackedLandGrid extends LandGrid {
+    
+    // One packed byte per cell, indexed by (row * columns + column).
+    private final byte[] cells;
+    
+    /**
+     * Default constructor. All cells start unarmed, unmarked, and hidden.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     */
+    public PackedLandGrid( int rows, int columns ) {
+        super( rows, columns );
+        cells = new byte[ rows * columns ];
+        
+    } // End of PackedLandGrid( )
+    
+    /**
+     * This function is used to read the packed bits of a single cell.
+     * 
+     * @param index The index of the cell.
+     * @return The packed cell bits.
+     */
+    @Override
+    protected int getCell( int index ) {
+        return cells[ index ] & 0xFF;
+        
+    } // End of getCell( )
+    
+    /**
+     * This function is used to write the packed bits of a single cell.
+     * 
+     * @param index The index of the cell.
+     * @param cell The packed cell bits.
+     */
+    @Override
+    protected void setCell( int index, int cell ) {
+        cells[ index ] = (byte)cell;
+        
+    } // End of setCell( )
+    
+    /**
+     * This function is used to reset every cell back to an unarmed, unmarked, 
+     * and hidden state.
+     */
+    @Override
+    public void clear( ) {
+        Arrays.fill( cells, 0, getSize(), (byte)0 );
+        
+    } // End of clear( )
+    
+    /**
+     * This function is used to set the proximity count of every cell with 
+     * SIMD within a register. Each row of armed bits is packed into longs 
+     * with one byte lane per cell, so 8 cells are added at a time. The rows 
+     * above, at, and below are added first, then that sum is added to itself 
+     * shifted one lane either way. Taking away the cell itself leaves the 
+     * count, which never goes past 8 so no lane carries into the next.
+     */
+    @Override
+    public void computeProximity( ) {
+        int words = ( columns + 7 ) >>> 3;
+        long[] above = new long[words];
+        long[] current = new long[words];
+        long[] below = new long[words];
+        long[] vertical = new long[words];
+        if( rows > 0 ) {
+            loadArmedLanes( 0, current );
+        }
+        
+        for( int row = 0; row < rows; row++ ) {
+            if( row + 1 < rows ) {
+                loadArmedLanes( row + 1, below );
+            }
+            else {
+                Arrays.fill( below, 0L );
+            }
+            // Add the three rows lane by lane.
+            for( int w = 0; w < words; w++ ) {
+                vertical[w] = above[w] + current[w] + below[w];
+            }
+            // Add the lanes to the west and east, carried across words.
+            for( int w = 0; w < words; w++ ) {
+                long west = ( vertical[w] << 8 ) | 
+                            ( (w > 0) ? vertical[w - 1] >>> 56 : 0 );
+                long east = ( vertical[w] >>> 8 ) | 
+                            ( (w + 1 < words) ? vertical[w + 1] << 56 : 0 );
+                storeProximityLanes( row, w, 
+                                     vertical[w] + west + east - current[w] );
+            }
+            // Move down a row, reusing the oldest array.
+            long[] oldest = above;
+            above = current;
+            current = below;
+            below = oldest;
+        }
+        
+    } // End of computeProximity( )
+    
+    /**
+     * This function is used to pack the armed bits of a row into byte lanes.
+     * 
+     * @param row The row to read.
+     * @param lanes Where to store the lanes, one long per 8 cells.
+     */
+    private void loadArmedLanes( int row, long[] lanes ) {
+        int start = row * columns;
+        for( int w = 0; w < lanes.length; w++ ) {
+            int first = start + ( w << 3 );
+            int end = Math.min( first + 8, start + columns );
+            long lane = 0;
+            // The armed bit is shifted down to the lowest bit of its lane.
+            for( int index = first; index < end; index++ ) {
+                lane |= (long)( (cells[index] & ARMED_BIT) >>> 4 ) 
+                        << ( (index - first) << 3 );
+            }
+            lanes[w] = lane;
+        }
+        
+    } // End of loadArmedLanes( )
+    
+    /**
+     * This function is used to write 8 lanes of proximity counts to a row.
+     * 
+     * @param row The row to write.
+     * @param word Which group of 8 cells in the row to write.
+     * @param lanes The proximity counts, one per byte lane.
+     */
+    private void storeProximityLanes( int row, int word, long lanes ) {
+        int first = row * columns + ( word << 3 );
+        int end = Math.min( first + 8, (row + 1) * columns );
+        for( int index = first; index < end; index++ ) {
+            cells[index] = (byte)( (cells[index] & ~PROXIMITY_MASK) | 
+                                   ((int)lanes & PROXIMITY_MASK) );
+            lanes >>>= 8;
+        }
+        
+    } // End of storeProximityLanes( )
+    
+    /**
+     * Every cell is its own byte, so threads writing to different cells never
+     *  get in each other's way.
+     * 
+     * @return True, rows can be written from different threads.
+     */
+    @Override
+    public boolean allowsParallelWrites( ) {
+        return true;
+        
+    } // End of allowsParallelWrites( )
+    
+    /**
+     * This function is used to reset the grid in place for a new game. Any 
+     * game that fits in the cell array can reuse it, unless the array is so 
+     * much bigger that it's better handed back to the collector.
+     * 
+     * @param rows The number of rows of the new game.
+     * @param columns The number of columns of the new game.
+     * @return True if the grid was reset, false if a new grid is needed.
+     */
+    @Override
+    public boolean reuse( int rows, int columns ) {
+        int size = rows * columns;
+        if( size > cells.length || size < cells.length / 4 ) {
+            return false;
+        }
+        this.rows = rows;
+        this.columns = columns;
+        clear( );
+        
+        return true;
+        
+    } // End of reuse( )
+    
+} // End of PackedLandGrid class.
@@ -0,0 +1,359 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * This class builds the mines and proximity values of a giant grid on every 
+ * core. The grid is cut into bands of whole rows. The number of mines in each 
+ * band is drawn from the multivariate hypergeometric distribution, which is 
+ * exactly how many a uniform pick of every mine would have put there. Each 
+ * band then picks its own mines with Floyd's algorithm, so the grid as a whole
+ *  is just as uniform as a single pass over it.
+ * 
+ * The bands run on the common ForkJoinPool. A band only ever writes its own 
+ * rows. Proximity values are gathered rather than scattered, so a band reads 
+ * the row above and below it but still only writes its own cells. The grid 
+ * has to allow writes from several threads to different rows at once.
+ * 
+ * @author Nicholas Moss
+ */
+public class ParallelMineLayout {
+    
+    // Nodes per band. Big enough to be worth a task, small enough to balance.
+    private static final int BAND_NODES = 1 << 20;
+    // Values of log(n!) for small n, where the series below is not accurate.
+    private static final double[] LOG_FACTORIAL = new double[ 256 ];
+    
+    static {
+        for( int n = 2; n < LOG_FACTORIAL.length; n++ ) {
+            LOG_FACTORIAL[n] = LOG_FACTORIAL[n - 1] + Math.log( n );
+        }
+    }
+    
+    /**
+     * Private constructor. This class only has static functions.
+     */
+    private ParallelMineLayout( ) {
+        
+    } // End of ParallelMineLayout( )
+    
+    /**
+     * This function is used to arm the mines of a grid in parallel. The free 
+     * nodes are numbered as in MineSweeper, from 0 to (free - 1) skipping the 
+     * safe zone, and each band takes the numbers of its own rows.
+     * 
+     * @param grid The LandGrid to arm, with no mines yet.
+     * @param mines The number of mines to place.
+     * @param safeNodes The sorted indexes of the safe zone.
+     * @param safeCount The number of safe node indexes in use.
+     * @param random The generator of the game.
+     */
+    public static void placeMines( LandGrid grid, int mines, int[] safeNodes,
+                                   int safeCount, SplittableRandom random ) {
+        int bandRows = getBandRows( grid );
+        int bands = ( grid.getRows() + bandRows - 1 ) / bandRows;
+        
+        // Number the free nodes of each band. freeStart[b + 1] is the end.
+        long[] freeStart = new long[bands + 1];
+        for( int band = 0; band < bands; band++ ) {
+            int start = band * bandRows * grid.getColumns( );
+            int end = Math.min( start + bandRows * grid.getColumns(), 
+                                grid.getSize() );
+            int free = end - start;
+            for( int i = 0; i < safeCount; i++ ) {
+                if( safeNodes[i] >= start && safeNodes[i] < end ) {
+                    free--;
+                }
+            }
+            freeStart[band + 1] = freeStart[band] + free;
+        }
+        
+        // Deal the mines out to the bands, then give each band a generator.
+        int[] bandMines = new int[bands];
+        splitMines( freeStart, 0, bands, mines, bandMines, random );
+        SplittableRandom[] bandRandom = new SplittableRandom[bands];
+        for( int band = 0; band < bands; band++ ) {
+            bandRandom[band] = random.split( );
+        }
+        
+        IntStream.range( 0, bands ).parallel().forEach( band -> 
+            placeBand( grid, (int)freeStart[band], 
+                       (int)(freeStart[band + 1] - freeStart[band]), 
+                       bandMines[band], safeNodes, safeCount, 
+                       bandRandom[band] ) );
+        
+    } // End of placeMines( )
+    
+    /**
+     * This function is used to set the proximity value of every node in 
+     * parallel. Each node counts its own armed neighbors, so no two bands 
+     * ever write to the same node.
+     * 
+     * @param grid The LandGrid with its mines armed.
+     */
+    public static void countProximity( LandGrid grid ) {
+        int bandRows = getBandRows( grid );
+        int bands = ( grid.getRows() + bandRows - 1 ) / bandRows;
+        
+        IntStream.range( 0, bands ).parallel().forEach( band -> 
+            countBand( grid, band * bandRows, 
+                       Math.min((band + 1) * bandRows, grid.getRows()) ) );
+        
+    } // End of countProximity( )
+    
+    /**
+     * This function is used to work out how many whole rows go in a band.
+     * 
+     * @param grid The LandGrid being built.
+     * @return The number of rows per band.
+     */
+    private static int getBandRows( LandGrid grid ) {
+        return Math.max( 1, BAND_NODES / grid.getColumns() );
+        
+    } // End of getBandRows( )
+    
+    /**
+     * This function is used to deal mines out to a range of bands. The range 
+     * is cut in half and the left half's share is drawn from the hypergeometric
+     *  distribution, then each half is dealt out the same way.
+     * 
+     * @param freeStart The first free node number of each band.
+     * @param first The first band of the range.
+     * @param last The band after the range.
+     * @param mines The number of mines in the range.
+     * @param bandMines Where to store the mines of each band.
+     * @param random The generator of the game.
+     */
+    private static void splitMines( long[] freeStart, int first, int last, 
+                                    int mines, int[] bandMines, 
+                                    SplittableRandom random ) {
+        if( last - first == 1 ) {
+            bandMines[first] = mines;
+            return;
+        }
+        int middle = ( first + last ) >>> 1;
+        long total = freeStart[last] - freeStart[first];
+        long left = freeStart[middle] - freeStart[first];
+        int leftMines = (int)hypergeometric( total, mines, left, random );
+        splitMines( freeStart, first, middle, leftMines, bandMines, random );
+        splitMines( freeStart, middle, last, mines - leftMines, bandMines, 
+                    random );
+        
+    } // End of splitMines( )
+    
+    /**
+     * This function is used to draw from the hypergeometric distribution. It 
+     * is the number of marked items in a draw of some items, without 
+     * replacement, from a population with a number of marked items.
+     * 
+     * The draw is made by inversion starting at the mode and stepping out to 
+     * either side, with each probability found from its neighbor. This takes 
+     * about as many steps as the standard deviation, which stays small next 
+     * to the size of a band.
+     * 
+     * @param total The size of the population.
+     * @param marked The number of marked items in the population.
+     * @param drawn The number of items drawn.
+     * @param random The generator to draw with.
+     * @return The number of marked items drawn.
+     */
+    static long hypergeometric( long total, long marked, long drawn, 
+                                SplittableRandom random ) {
+        long low = Math.max( 0, drawn - (total - marked) );
+        long high = Math.min( drawn, marked );
+        if( low == high ) {
+            return low;
+        }
+        long mode = (long)( (double)(drawn + 1) * (marked + 1) / (total + 2) );
+        mode = Math.max( low, Math.min(high, mode) );
+        double modeP = Math.exp( logChoose(marked, mode) + 
+                                 logChoose(total - marked, drawn - mode) - 
+                                 logChoose(total, drawn) );
+        
+        double u = random.nextDouble( ) - modeP;
+        long down = mode;
+        long up = mode;
+        double downP = modeP;
+        double upP = modeP;
+        while( u > 0 && (down > low || up < high) ) {
+            if( up < high ) {
+                // Step up: p(k+1) = p(k) (K-k)(n-k) / ((k+1)(N-K-n+k+1))
+                upP *= (double)( marked - up ) * ( drawn - up ) / 
+                       ( (double)(up + 1) * (total - marked - drawn + up + 1) );
+                up++;
+                u -= upP;
+                if( u <= 0 ) {
+                    return up;
+                }
+            }
+            if( down > low ) {
+                // Step down: p(k-1) = p(k) k(N-K-n+k) / ((K-k+1)(n-k+1))
+                downP *= (double)down * ( total - marked - drawn + down ) / 
+                         ( (double)(marked - down + 1) * (drawn - down + 1) );
+                down--;
+                u -= downP;
+                if( u <= 0 ) {
+                    return down;
+                }
+            }
+        }
+        // Either the mode was drawn, or rounding left a sliver over for it.
+        return mode;
+        
+    } // End of hypergeometric( )
+    
+    /**
+     * This function is used to get the log of n choose k.
+     * 
+     * @param n The number of items.
+     * @param k The number of items chosen.
+     * @return The log of the binomial coefficient.
+     */
+    private static double logChoose( long n, long k ) {
+        return logFactorial( n ) - logFactorial( k ) - logFactorial( n - k );
+        
+    } // End of logChoose( )
+    
+    /**
+     * This function is used to get the log of n factorial. Large values use 
+     * Stirling's series, which is accurate to double precision past 255.
+     * 
+     * @param n The value.
+     * @return The log of n!.
+     */
+    private static double logFactorial( long n ) {
+        if( n < LOG_FACTORIAL.length ) {
+            return LOG_FACTORIAL[(int)n];
+        }
+        double x = n;
+        double inverse = 1.0 / x;
+        double inverse2 = inverse * inverse;
+        
+        return (x + 0.5) * Math.log( x ) - x + 0.5 * Math.log( 2 * Math.PI ) +
+               inverse * ( 1.0 / 12 - inverse2 * (1.0 / 360 - 
+                                                   inverse2 / 1260) );
+        
+    } // End of logFactorial( )
+    
+    /**
+     * This function is used to arm the mines of one band with Floyd's 
+     * sampling algorithm, the same way MineSweeper does for a whole grid.
+     * 
+     * @param grid The LandGrid to arm.
+     * @param start The first free node number of the band.
+     * @param free The number of free nodes in the band.
+     * @param mines The number of mines in the band.
+     * @param safeNodes The sorted indexes of the safe zone.
+     * @param safeCount The number of safe node indexes in use.
+     * @param random The generator of the band.
+     */
+    private static void placeBand( LandGrid grid, int start, int free, 
+                                   int mines, int[] safeNodes, int safeCount,
+                                   SplittableRandom random ) {
+        // Pick the mines directly when the band is sparse enough.
+        if( mines <= free / 2 ) {
+            for( int j = free - mines; j < free; j++ ) {
+                int node = getFreeNode( start + random.nextInt(j + 1), 
+                                        safeNodes, safeCount );
+                // If it was already picked, pick the newest number instead.
+                if( grid.isArmed(node) ) {
+                    node = getFreeNode( start + j, safeNodes, safeCount );
+                }
+                grid.setArmedStatus( node, true );
+            }
+            return;
+        }
+        // Otherwise arm everything and pick the nodes that stay clear.
+        for( int j = 0; j < free; j++ ) {
+            grid.setArmedStatus( getFreeNode(start + j, safeNodes, safeCount),
+                                 true );
+        }
+        for( int j = mines; j < free; j++ ) {
+            int node = getFreeNode( start + random.nextInt(j + 1), 
+                                    safeNodes, safeCount );
+            // If it was already picked, pick the newest number instead.
+            if( !grid.isArmed(node) ) {
+                node = getFreeNode( start + j, safeNodes, safeCount );
+            }
+            grid.setArmedStatus( node, false );
+        }
+        
+    } // End of placeBand( )
+    
+    /**
+     * This function is used to map the number of a free node to its index in 
+     * the grid by skipping over the safe zone.
+     * 
+     * @param number The number of the free node.
+     * @param safeNodes The sorted indexes of the safe zone.
+     * @param safeCount The number of safe node indexes in use.
+     * @return The index of the free node.
+     */
+    private static int getFreeNode( int number, int[] safeNodes, 
+                                    int safeCount ) {
+        int index = number;
+        for( int i = 0; i < safeCount && safeNodes[i] <= index; i++ ) {
+            index++;
+        }
+        
+        return index;
+        
+    } // End of getFreeNode( )
+    
+    /**
+     * This function is used to set the proximity values of a band of rows.
+     * 
+     * @param grid The LandGrid with its mines armed.
+     * @param firstRow The first row of the band.
+     * @param lastRow The row after the band.
+     */
+    private static void countBand( LandGrid grid, int firstRow, int lastRow ) {
+        int columns = grid.getColumns( );
+        for( int row = firstRow; row < lastRow; row++ ) {
+            int top = Math.max( 0, row - 1 );
+            int bottom = Math.min( grid.getRows() - 1, row + 1 );
+            for( int column = 0; column < columns; column++ ) {
+                int left = Math.max( 0, column - 1 );
+                int right = Math.min( columns - 1, column + 1 );
+                int count = 0;
+                for( int y = top; y <= bottom; y++ ) {
+                    for( int x = left; x <= right; x++ ) {
+                        if( (y != row || x != column) && 
+                            grid.isArmed(y * columns + x) ) {
+                            count++;
+                        }
+                    }
+                }
+                grid.setProximityCount( row * columns + column, count );
+            }
+        }
+        
+    } // End of countBand( )
+    
+} // End of ParallelMineLayout class.
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This class holds everything a single move revealed. It is a list of node 
+ * indexes with their proximity values, plus the state of the game after the 
+ * move. The model fills it in while the move runs and the view applies it in 
+ * one go, rather than the two calling each other once per node.
+ * 
+ * The model reuses one RevealDiff for every move, so its contents are only 
+ * good until the next move.
+ * 
+ * @author Nicholas Moss
+ */
+public class RevealDiff implements Serializable {
+    
+    /**
+     * This enumeration is the state of the game after a move.
+     */
+    public enum State {
+        PLAYING,        // The game goes on.
+        WON,            // The move won the game.
+        LOST            // The move stepped on a mine.
+    }
+    
+    // The revealed nodes and their proximity values, in the order revealed.
+    private int[] indexes;
+    private byte[] proximity;
+    private int size;
+    private State state;
+    
+    /**
+     * Default constructor. Creates an empty diff.
+     */
+    public RevealDiff( ) {
+        indexes = new int[ 64 ];
+        proximity = new byte[ 64 ];
+        clear( );
+        
+    } // End of RevealDiff( )
+    
+    /**
+     * This function is used to empty the diff for the next move.
+     */
+    public void clear( ) {
+        size = 0;
+        state = State.PLAYING;
+        
+    } // End of clear( )
+    
+    /**
+     * This function is used to add a revealed node.
+     * 
+     * @param index The index of the node.
+     * @param proximityCount The proximity value of the node.
+     */
+    public void add( int index, int proximityCount ) {
+        if( size == indexes.length ) {
+            indexes = Arrays.copyOf( indexes, size * 2 );
+            proximity = Arrays.copyOf( proximity, size * 2 );
+        }
+        indexes[size] = index;
+        proximity[size] = (byte)proximityCount;
+        size++;
+        
+    } // End of add( )
+    
+    /**
+     * This function is used to set the state of the game after the move.
+     * 
+     * @param state The State of the game.
+     */
+    public void setState( State state ) {
+        this.state = state;
+        
+    } // End of setState( )
+    
+    /**
+     * This function gets the number of nodes the move revealed.
+     * 
+     * @return The number of revealed nodes.
+     */
+    public int size( ) {
+        return size;
+        
+    } // End of size( )
+    
+    /**
+     * This function gets the index of a revealed node.
+     * 
+     * @param position A position from 0 to size( ) - 1.
+     * @return The index of the node.
+     */
+    public int getIndex( int position ) {
+        return indexes[position];
+        
+    } // End of getIndex( )
+    
+    /**
+     * This function gets the proximity value of a revealed node.
+     * 
+     * @param position A position from 0 to size( ) - 1.
+     * @return The proximity value of the node.
+     */
+    public int getProximityCount( int position ) {
+        return proximity[position];
+        
+    } // End of getProximityCount( )
+    
+    /**
+     * This function gets the state of the game after the move.
+     * 
+     * @return The State of the game.
+     */
+    public State getState( ) {
+        return state;
+        
+    } // End of getState( )
+    
+} // End of RevealDiff class.
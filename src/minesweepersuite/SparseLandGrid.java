@@ -0,0 +1,283 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+/**
+ * This class is a LandGrid for giant boards with few mines. Only the mines are 
+ * stored, as a LongHashSet of cell indexes, and the proximity counts are 
+ * worked out from that set whenever they are asked for. The revealed status is
+ *  a bitmap split into pages that are only created once a cell in them is 
+ * revealed, so the untouched parts of the grid cost nothing. Markings are 
+ * rare and are kept in their own small sets.
+ * 
+ * @author Nicholas Moss
+ */
+public class SparseLandGrid extends LandGrid {
+    
+    // Each page of the revealed bitmap covers 4096 cells.
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_WORDS = ( 1 << PAGE_SHIFT ) / Long.SIZE;
+    
+    private final LongHashSet mines;
+    private final LongHashSet marked;
+    private final LongHashSet questioned;
+    private final long[][] revealedPages;
+    
+    /**
+     * Default constructor. All cells start unarmed, unmarked, and hidden.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @param expectedMines The number of mines the grid is expected to hold.
+     */
+    public SparseLandGrid( int rows, int columns, int expectedMines ) {
+        super( rows, columns );
+        mines = new LongHashSet( expectedMines );
+        marked = new LongHashSet( );
+        questioned = new LongHashSet( );
+        revealedPages = new long[ ((rows * columns - 1) >>> PAGE_SHIFT) + 1 ][];
+        
+    } // End of SparseLandGrid( )
+    
+    /**
+     * This function is used to build the packed bits of a single cell out of 
+     * the mine set, the bitmap, and the marking sets.
+     * 
+     * @param index The index of the cell.
+     * @return The packed cell bits.
+     */
+    @Override
+    protected int getCell( int index ) {
+        int cell = getProximityCount( index );
+        if( isArmed(index) )
+            cell |= ARMED_BIT;
+        if( isRevealed(index) )
+            cell |= REVEALED_BIT;
+        
+        return cell | ( getMarking(index).ordinal() << MARKING_SHIFT );
+        
+    } // End of getCell( )
+    
+    /**
+     * This function is used to write the packed bits of a single cell back to 
+     * the mine set, the bitmap, and the marking sets. The proximity bits are 
+     * ignored since they are always worked out from the mines.
+     * 
+     * @param index The index of the cell.
+     * @param cell The packed cell bits.
+     */
+    @Override
+    protected void setCell( int index, int cell ) {
+        setArmedStatus( index, (cell & ARMED_BIT) != 0 );
+        if( (cell & REVEALED_BIT) != 0 )
+            revealNode( index );
+        else
+            hideNode( index );
+        setMarking( index, (cell & MARKING_MASK) >>> MARKING_SHIFT );
+        
+    } // End of setCell( )
+    
+    /**
+     * This function is used to reset every cell back to an unarmed, unmarked, 
+     * and hidden state.
+     */
+    @Override
+    public void clear( ) {
+        mines.clear( );
+        marked.clear( );
+        questioned.clear( );
+        for( int page = 0; page < revealedPages.length; page++ ) {
+            revealedPages[page] = null;
+        }
+        
+    } // End of clear( )
+    
+    /**
+     * This function is used to get the armed status of a cell.
+     * 
+     * @param index The index of the cell.
+     * @return True if the cell is armed, false otherwise.
+     */
+    @Override
+    public boolean isArmed( int index ) {
+        return mines.contains( index );
+        
+    } // End of isArmed( )
+    
+    /**
+     * This function is used to set the armed status of a cell.
+     * 
+     * @param index The index of the cell.
+     * @param armed Set to true if the cell should be armed.
+     */
+    @Override
+    public void setArmedStatus( int index, boolean armed ) {
+        if( armed )
+            mines.add( index );
+        else
+            mines.remove( index );
+        
+    } // End of setArmedStatus( )
+    
+    /**
+     * This function is used to count the mines adjacent to a cell straight 
+     * from the mine set.
+     * 
+     * @param index The index of the cell.
+     * @return The count of mines in adjacent cells.
+     */
+    @Override
+    public int getProximityCount( int index ) {
+        int row = index / columns;
+        int column = index % columns;
+        int count = 0;
+        // Check the 3x3 block around the cell, clipped to the grid.
+        for( int y = Math.max(0, row - 1); y <= Math.min(rows - 1, row + 1); 
+             y++ ) {
+            for( int x = Math.max(0, column - 1); 
+                 x <= Math.min(columns - 1, column + 1); x++ ) {
+                int near = y * columns + x;
+                if( near != index && mines.contains(near) ) {
+                    count++;
+                }
+            }
+        }
+        
+        return count;
+        
+    } // End of getProximityCount( )
+    
+    /**
+     * The proximity counts are always worked out from the mines, so there is 
+     * nothing to store.
+     * 
+     * @param index The index of the cell.
+     */
+    @Override
+    public void incrementProximityCount( int index ) {
+        
+    } // End of incrementProximityCount( )
+    
+    /**
+     * Proximity counts are worked out from the mines when asked for, so there
+     *  is nothing to compute up front.
+     */
+    @Override
+    public void computeProximity( ) {
+        
+    } // End of computeProximity( )
+    
+    /**
+     * This function is used to get the marking enumeration of a cell.
+     * 
+     * @param index The index of the cell.
+     * @return The Marking of the cell.
+     */
+    @Override
+    public Marking getMarking( int index ) {
+        if( marked.contains(index) )
+            return Marking.MARKED;
+        if( questioned.contains(index) )
+            return Marking.QUESTIONED;
+        
+        return Marking.NOT_MARKED;
+        
+    } // End of getMarking( )
+    
+    /**
+     * This function is used to set the marking of a cell by its ordinal.
+     * 
+     * @param index The index of the cell.
+     * @param ordinal The ordinal of the Marking enumeration.
+     */
+    private void setMarking( int index, int ordinal ) {
+        if( ordinal == Marking.MARKED.ordinal() )
+            marked.add( index );
+        else
+            marked.remove( index );
+        if( ordinal == Marking.QUESTIONED.ordinal() )
+            questioned.add( index );
+        else
+            questioned.remove( index );
+        
+    } // End of setMarking( )
+    
+    /**
+     * This function sets a cell to the revealed state. The page holding the 
+     * cell is created the first time one of its cells is revealed.
+     * 
+     * @param index The index of the cell.
+     */
+    @Override
+    public void revealNode( int index ) {
+        int page = index >>> PAGE_SHIFT;
+        if( revealedPages[page] == null ) {
+            revealedPages[page] = new long[ PAGE_WORDS ];
+        }
+        revealedPages[page][(index >>> 6) & (PAGE_WORDS - 1)] |= 1L << index;
+        
+    } // End of revealNode( )
+    
+    /**
+     * This function sets a cell back to the hidden state.
+     * 
+     * @param index The index of the cell.
+     */
+    @Override
+    public void hideNode( int index ) {
+        long[] page = revealedPages[index >>> PAGE_SHIFT];
+        if( page != null ) {
+            page[(index >>> 6) & (PAGE_WORDS - 1)] &= ~( 1L << index );
+        }
+        
+    } // End of hideNode( )
+    
+    /**
+     * This function checks to see if a cell has been revealed or not.
+     * 
+     * @param index The index of the cell.
+     * @return True if the cell has been revealed. False otherwise.
+     */
+    @Override
+    public boolean isRevealed( int index ) {
+        long[] page = revealedPages[index >>> PAGE_SHIFT];
+        
+        return page != null && 
+               ( page[(index >>> 6) & (PAGE_WORDS - 1)] & (1L << index) ) != 0;
+        
+    } // End of isRevealed( )
+    
+    /**
+     * This function is used to get the number of mines in the grid.
+     * 
+     * @return The number of armed cells.
+     */
+    public int getMineCount( ) {
+        return mines.size( );
+        
+    } // End of getMineCount( )
+    
+} // End of SparseLandGrid class.
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+/**
+ * This is a version of the MineSweeper model built on a SparseLandGrid. It 
+ * plays exactly the same, but only the mines and the explored part of the grid
+ *  are kept in memory and the proximity counts are worked out on demand. It 
+ * suits giant boards where only a small share of the nodes hold a mine, so it
+ *  takes boards with as few as SPARSE_MIN_MINE_PERCENT mines and up to 
+ * SPARSE_MAX_AXIS_SIZE on each axis. The flags around a node are counted from
+ *  the grid when asked for, so nothing is kept per node.
+ * 
+ * @author Nicholas Moss
+ */
+public class SparseMineSweeper extends MineSweeper {
+    
+    // Far fewer mines than a dense board, since only the mines are stored.
+    public static final double SPARSE_MIN_MINE_PERCENT = 0.001;
+    // The longest axis whose square still fits an int node index.
+    public static final int SPARSE_MAX_AXIS_SIZE = 46340;
+    // Bytes per mine of the mine set, which can be as little as a quarter 
+    // full.
+    private static final int BYTES_PER_MINE = 4 * Long.BYTES;
+    
+    /**
+     * Default constructor. Initializes variables to null.
+     */
+    public SparseMineSweeper( ) {
+        super( );
+        
+    } // End of SparseMineSweeper( )
+    
+    /**
+     * A constructor. Initializes variables to null and sets no identifier for 
+     * this object.
+     * 
+     * @param adapter The MineSweeperAdapter (Adapter) object used to interface 
+     * with the MineSweeper (Model) object.
+     */
+    public SparseMineSweeper( MineSweeperAdapter adapter ) {
+        super( adapter );
+        
+    } // End of SparseMineSweeper( )
+    
+    /**
+     * This function is used to create the sparse grid of the game.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @return A new, empty SparseLandGrid.
+     */
+    @Override
+    protected LandGrid newLandGrid( int rows, int columns ) {
+        return new SparseLandGrid( rows, columns, 
+                                   getCurrentGameParams().getMines() );
+        
+    } // End of newLandGrid( )
+    
+    /**
+     * The proximity counts are worked out from the mines when they are asked 
+     * for, so there is nothing to generate. Large grids are still flagged as 
+     * lazy so the game doesn't walk every node of them when it starts.
+     */
+    @Override
+    protected void generateProximityValues( ) {
+        getLandGrid( ).setLazyProximity( useLazyProximity() );
+        
+    } // End of generateProximityValues( )
+    
+    /**
+     * Only the mines are stored, so the board can hold far fewer of them.
+     * 
+     * @return The minimum mines as a fraction of the area.
+     */
+    @Override
+    protected double getMinMinePercent( ) {
+        return SPARSE_MIN_MINE_PERCENT;
+        
+    } // End of getMinMinePercent( )
+    
+    /**
+     * The grid only grows with the mines and the revealed nodes, so the axis 
+     * is only held back by the int index of a node.
+     * 
+     * @return The maximum rows or columns of a large board.
+     */
+    @Override
+    protected int getMaxLargeAxisSize( ) {
+        return SPARSE_MAX_AXIS_SIZE;
+        
+    } // End of getMaxLargeAxisSize( )
+    
+    /**
+     * The sparse grid costs the mine set, a bit per node once the board is 
+     * revealed, and the reveal queue along the edge of an opening. A view of 
+     * the board keeps its own state and is not counted here.
+     * 
+     * @param params A GameParameters object of the game parameters.
+     * @return The estimated number of bytes.
+     */
+    @Override
+    protected long estimateMemory( GameParameters params ) {
+        return (long)params.getMines( ) * BYTES_PER_MINE + 
+               params.getArea( ) / Byte.SIZE + 
+               2L * ( params.getRows() + params.getColumns() ) * 
+               Integer.BYTES;
+        
+    } // End of estimateMemory( )
+    
+    /**
+     * A byte per node for the flag counts would outweigh the whole grid, so 
+     * the flags around a node are counted from the marking set instead.
+     * 
+     * @return False, the flags are counted on demand.
+     */
+    @Override
+    protected boolean keepsMarkedNearby( ) {
+        return false;
+        
+    } // End of keepsMarkedNearby( )
+    
+    /**
+     * The sparse grid only counts square neighbors, so only square boards 
+     * can be played.
+     * 
+     * @param topology The Topology of the board.
+     * @return True if the topology is square.
+     */
+    @Override
+    protected boolean supportsTopology( Topology topology ) {
+        return topology == Topology.SQUARE;
+        
+    } // End of supportsTopology( )
+    
+} // End of SparseMineSweeper class.
@@ -36,9 +36,13 @@ import java.io.Serializable;
  */
 public class StatisticEntry implements Serializable, Comparable {
 
+    private static final long serialVersionUID = 7893108045574572844L;
+    
     private String user;
     private final long time;
     private final GameParameters params;
+    // How hard the board was, or null for records saved before it was kept.
+    private final BoardMetrics metrics;
     private boolean finalized;
     
     /**
@@ -48,9 +52,23 @@ public class StatisticEntry implements Serializable, Comparable {
      * @param params The GameParameters set.
      */
     public StatisticEntry( long time, GameParameters params ) {
+        this( time, params, null );
+        
+    } // End of StatisticEntry( )
+    
+    /**
+     * A constructor. Keeps how hard the board was along with the time.
+     * 
+     * @param time The elapsed game time.
+     * @param params The GameParameters set.
+     * @param metrics The BoardMetrics of the board, or null if unknown.
+     */
+    public StatisticEntry( long time, GameParameters params, 
+                           BoardMetrics metrics ) {
         user = "user";
         this.time = time;
         this.params = params;
+        this.metrics = metrics;
         finalized = false;
         
     } // End of StatisticEntry( )
@@ -66,6 +84,7 @@ public class StatisticEntry implements Serializable, Comparable {
         this.user = user;
         this.time = time;
         this.params = params;
+        this.metrics = null;
         finalized = false;
 
     } // End of StatisticEntry( )
@@ -144,6 +163,51 @@ public class StatisticEntry implements Serializable, Comparable {
 
     } // End of getMines( )
 
+    /**
+     * This function returns a string of the seed of the game. Together with 
+     * the other parameters and the first move it rebuilds the same grid.
+     * 
+     * @return The seed of the game as a string, empty if it was not kept.
+     */
+    public String getSeed() {
+        return params.getStringSeed();
+
+    } // End of getSeed( )
+
+    /**
+     * This function gets how hard the board of the game was.
+     * 
+     * @return The BoardMetrics of the board, or null if it was not kept.
+     */
+    public BoardMetrics getMetrics() {
+        return metrics;
+
+    } // End of getMetrics( )
+
+    /**
+     * This function gets how fast the board was cleared.
+     * 
+     * @return The 3BV cleared per second, or 0 if the board was not measured.
+     */
+    public double getThreeBVPerSecond() {
+        if( metrics == null )
+            return 0;
+        return metrics.getThreeBVPerSecond( time );
+
+    } // End of getThreeBVPerSecond( )
+
+    /**
+     * This function returns a string of how fast the board was cleared.
+     * 
+     * @return The 3BV per second to two places, empty if it was not kept.
+     */
+    public String getThreeBVPerSecondAsString() {
+        if( metrics == null )
+            return "";
+        return String.format( "%.2f", getThreeBVPerSecond() );
+
+    } // End of getThreeBVPerSecondAsString( )
+
     /**
      * This function compares this object to another (similar) object.
      * 
@@ -28,11 +28,14 @@ package minesweepersuite;
 import java.awt.BorderLayout;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.util.ArrayList;
+import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -41,7 +44,7 @@ import javax.swing.JTextField;
 
 /**
  * This class creates a window that shows the best game modes, score, and times 
- * of the game so far.
+ * of the game so far. The games can be ranked by time or by 3BV per second.
  * 
  * @author Nicholas Moss
  */
@@ -55,6 +58,8 @@ public class StatsWindow extends JFrame {
     
     // GUI Components
     private final JPanel mainPanel;
+    private final JPanel rankPanel;
+    private final JComboBox<String> rankBox;
     private final CustomGridBagConstraints constraints;
 
     // Labels
@@ -63,6 +68,7 @@ public class StatsWindow extends JFrame {
     private final JLabel timeLabel;
     private final JLabel gridSizeLabel;
     private final JLabel mineLabel;
+    private final JLabel speedLabel;
     
     private JTextField userField;
 
@@ -78,6 +84,8 @@ public class StatsWindow extends JFrame {
         stats = adapter.getGameStatistics( );
 
         mainPanel = new JPanel( );
+        rankPanel = new JPanel( );
+        rankBox = new JComboBox<>( new String[] { "Time", "3BV/s" } );
         constraints = new CustomGridBagConstraints( );
         
         rankLabel = new JLabel( "Rank" );
@@ -85,6 +93,7 @@ public class StatsWindow extends JFrame {
         timeLabel = new JLabel( "Time" );
         gridSizeLabel = new JLabel( "Grid" );
         mineLabel = new JLabel( "Mines" );
+        speedLabel = new JLabel( "3BV/s" );
         
         userField = null;
         
@@ -95,24 +104,17 @@ public class StatsWindow extends JFrame {
      * work setting up the interface.
      */
     public void initComponents( ) {
-        constraints.fill = GridBagConstraints.NONE;
-        constraints.setInset( 5, 25, 5, 25 );
-        constraints.setPadding( 25, 5 );
         mainPanel.setLayout( new GridBagLayout() );
-                
-        constraints.setCoordinates( 0, 0 );
-        mainPanel.add( rankLabel, constraints );
-        constraints.setCoordinates( 1, 0 );
-        mainPanel.add( userLabel, constraints );
-        constraints.setCoordinates( 2, 0 );
-        mainPanel.add( timeLabel, constraints );
-        constraints.setCoordinates( 3, 0 );
-        mainPanel.add( gridSizeLabel, constraints );
-        constraints.setCoordinates( 4, 0 );
-        mainPanel.add( mineLabel, constraints );
         
-        constraints.setCoordinates( 0, 0 );
-        constraints.setInset( 0, 0, 0, 0 );
+        // Rank the games again whenever another order is picked.
+        rankPanel.add( new JLabel( "Rank by" ) );
+        rankPanel.add( rankBox );
+        rankBox.addActionListener( new ActionListener( ) {
+            @Override
+            public void actionPerformed( ActionEvent event ) {
+                rankStats( );
+            }
+        });
         
         // Add a window listener/adapter for win the window closes.
         this.addWindowListener( new WindowAdapter( ) {
@@ -125,26 +127,65 @@ public class StatsWindow extends JFrame {
         });
         
         this.setLayout( new BorderLayout( ));
+        this.add( rankPanel, BorderLayout.NORTH );
         this.add( mainPanel, BorderLayout.CENTER );
+        addHeaders( );
         populateStats( );
         this.setDefaultCloseOperation( DISPOSE_ON_CLOSE );
-        this.setSize( 600, 400 );
+        this.setSize( 680, 400 );
         this.setLocationRelativeTo( null );
         this.setAlwaysOnTop( true );
         this.setVisible( true );
 
     } // End of initComponents( )
     
+    /**
+     * This function is used to add the column headers to the top row.
+     */
+    private void addHeaders( ) {
+        constraints.fill = GridBagConstraints.NONE;
+        constraints.setInset( 5, 25, 5, 25 );
+        constraints.setPadding( 25, 5 );
+        
+        constraints.setCoordinates( 0, 0 );
+        mainPanel.add( rankLabel, constraints );
+        constraints.setCoordinates( 1, 0 );
+        mainPanel.add( userLabel, constraints );
+        constraints.setCoordinates( 2, 0 );
+        mainPanel.add( timeLabel, constraints );
+        constraints.setCoordinates( 3, 0 );
+        mainPanel.add( gridSizeLabel, constraints );
+        constraints.setCoordinates( 4, 0 );
+        mainPanel.add( mineLabel, constraints );
+        constraints.setCoordinates( 5, 0 );
+        mainPanel.add( speedLabel, constraints );
+        
+        constraints.setCoordinates( 0, 0 );
+        constraints.setInset( 0, 0, 0, 0 );
+        
+    } // End of addHeaders( )
+    
     /**
      * This function is used to populate the list of statistics dynamically. 
-     * It reads data from the adapter to display the statistics.
+     * It reads data from the adapter to display the statistics, in the order 
+     * picked in the rank box.
      */
     public void populateStats( ) {
+        ArrayList<StatisticEntry> entries;
+        if( rankBox.getSelectedIndex() == 1 ) {
+            entries = stats.getEntriesBySpeed( );
+        }
+        else {
+            entries = new ArrayList<>( );
+            for( int i = 0; i < stats.getEntrySize(); i++ ) {
+                entries.add( stats.getEntry(i) );
+            }
+        }
         // Iterate through eveything in the list
-        for( int i = 0; i < stats.getEntrySize(); i++ ) {
+        for( int i = 0; i < entries.size(); i++ ) {
             // Create an array list with JComponents and populate it
             ArrayList<JComponent> components = createStatisticComponents( 
-                                                i, stats.getEntry(i) );
+                                                i, entries.get(i) );
             // Iterate through the array list
             for( int f = 0; f < components.size(); f++ ) {
                 // Set the coordinate offsets
@@ -155,6 +196,23 @@ public class StatsWindow extends JFrame {
         
     } // End of populateStats( )
     
+    /**
+     * This function is used to lay the statistics out again in the order 
+     * picked in the rank box. A name being typed for a new record is kept.
+     */
+    private void rankStats( ) {
+        String user = ( userField == null ) ? null : userField.getText( );
+        mainPanel.removeAll( );
+        addHeaders( );
+        populateStats( );
+        if( user != null && userField != null ) {
+            userField.setText( user );
+        }
+        mainPanel.revalidate( );
+        mainPanel.repaint( );
+        
+    } // End of rankStats( )
+    
     /**
      * This function returns an ArrayList of JComponents based off of the 
      * information in the StatisticEntry. 
@@ -193,6 +251,7 @@ public class StatsWindow extends JFrame {
         labels.add( new JLabel( entry.getTimeAsString()) );
         labels.add( new JLabel( entry.getRows() + ", " + entry.getColumns()) );
         labels.add( new JLabel( entry.getMines()) );
+        labels.add( new JLabel( entry.getThreeBVPerSecondAsString()) );
         
         return labels;
         
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.util.Arrays;
+
+/**
+ * This class is a LandGrid split into tiles of 256 cells that can be shared 
+ * with LandSnapshot objects. Taking a snapshot only copies the array of tile 
+ * references. After that the grid copies a tile the first time it writes to 
+ * it, so each snapshot costs a few bytes per tile plus one copy of every tile 
+ * changed since.
+ * 
+ * @author Nicholas Moss
+ */
+public class TiledLandGrid extends LandGrid {
+    
+    // Each tile holds (1 << TILE_SHIFT) cells with consecutive indexes.
+    public static final int TILE_SHIFT = 8;
+    public static final int TILE_SIZE = 1 << TILE_SHIFT;
+    public static final int TILE_MASK = TILE_SIZE - 1;
+    
+    // The tiles, and whether this grid is the only one holding each tile.
+    private final byte[][] tiles;
+    private final boolean[] owned;
+    
+    /**
+     * Default constructor. All cells start unarmed, unmarked, and hidden.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     */
+    public TiledLandGrid( int rows, int columns ) {
+        this( rows, columns, newTiles(rows * columns) );
+        Arrays.fill( owned, true );
+        
+    } // End of TiledLandGrid( )
+    
+    /**
+     * A constructor. Starts out sharing every tile with someone else.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @param tiles The shared tiles. The array itself is not shared.
+     */
+    TiledLandGrid( int rows, int columns, byte[][] tiles ) {
+        super( rows, columns );
+        this.tiles = tiles;
+        owned = new boolean[ tiles.length ];
+        
+    } // End of TiledLandGrid( )
+    
+    /**
+     * This function is used to create the empty tiles of a grid.
+     * 
+     * @param size The number of cells in the grid.
+     * @return A new array of zeroed tiles.
+     */
+    static byte[][] newTiles( int size ) {
+        return new byte[ ((size - 1) >>> TILE_SHIFT) + 1 ][ TILE_SIZE ];
+        
+    } // End of newTiles( )
+    
+    /**
+     * This function is used to read the packed bits of a single cell.
+     * 
+     * @param index The index of the cell.
+     * @return The packed cell bits.
+     */
+    @Override
+    protected int getCell( int index ) {
+        return tiles[ index >>> TILE_SHIFT ][ index & TILE_MASK ] & 0xFF;
+        
+    } // End of getCell( )
+    
+    /**
+     * This function is used to write the packed bits of a single cell. A tile 
+     * that is still shared is copied first.
+     * 
+     * @param index The index of the cell.
+     * @param cell The packed cell bits.
+     */
+    @Override
+    protected void setCell( int index, int cell ) {
+        int tile = index >>> TILE_SHIFT;
+        if( !owned[tile] ) {
+            tiles[tile] = tiles[tile].clone( );
+            owned[tile] = true;
+        }
+        tiles[tile][index & TILE_MASK] = (byte)cell;
+        
+    } // End of setCell( )
+    
+    /**
+     * This function is used to reset every cell back to an unarmed, unmarked, 
+     * and hidden state. Shared tiles are swapped for new ones.
+     */
+    @Override
+    public void clear( ) {
+        for( int tile = 0; tile < tiles.length; tile++ ) {
+            if( owned[tile] ) 
+                Arrays.fill( tiles[tile], (byte)0 );
+            else 
+                tiles[tile] = new byte[ TILE_SIZE ];
+            owned[tile] = true;
+        }
+        
+    } // End of clear( )
+    
+    /**
+     * This function is used to take a snapshot of the grid. Every tile becomes
+     *  shared, so the grid will copy a tile before changing it again.
+     * 
+     * @return A LandSnapshot sharing the tiles of this grid.
+     */
+    @Override
+    public LandSnapshot snapshot( ) {
+        Arrays.fill( owned, false );
+        LandSnapshot snapshot = new LandSnapshot( rows, columns, 
+                                                  tiles.clone() );
+        snapshot.setLazyProximity( isLazyProximity() );
+        
+        return snapshot;
+        
+    } // End of snapshot( )
+    
+} // End of TiledLandGrid class.
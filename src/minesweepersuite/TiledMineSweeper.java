@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+/**
+ * This is a version of the MineSweeper model built on a TiledLandGrid. It 
+ * plays exactly the same, but a snapshot can be taken after every move for 
+ * about the cost of the tiles the move changed. A game can also be forked 
+ * from any snapshot without copying the grid.
+ * 
+ * @author Nicholas Moss
+ */
+public class TiledMineSweeper extends MineSweeper {
+    
+    /**
+     * Default constructor. Initializes variables to null.
+     */
+    public TiledMineSweeper( ) {
+        super( );
+        
+    } // End of TiledMineSweeper( )
+    
+    /**
+     * A constructor. Initializes variables to null and sets no identifier for 
+     * this object.
+     * 
+     * @param adapter The MineSweeperAdapter (Adapter) object used to interface 
+     * with the MineSweeper (Model) object.
+     */
+    public TiledMineSweeper( MineSweeperAdapter adapter ) {
+        super( adapter );
+        
+    } // End of TiledMineSweeper( )
+    
+    /**
+     * This function is used to create the tiled grid of the game.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     * @return A new, empty TiledLandGrid.
+     */
+    @Override
+    protected LandGrid newLandGrid( int rows, int columns ) {
+        return new TiledLandGrid( rows, columns );
+        
+    } // End of newLandGrid( )
+    
+    /**
+     * This function is used to carry on a game from a snapshot. The snapshot 
+     * itself is left as it was, and the game goes on with its Topology.
+     * 
+     * @param snapshot A snapshot of a game that was already started.
+     * @return True if the game was forked, false if the snapshot has no mines
+     * or its game is already over.
+     */
+    public boolean forkGame( LandSnapshot snapshot ) {
+        return resumeGame( snapshot.fork(), snapshot.getTopology(), 
+                           snapshot.getLayers() );
+        
+    } // End of forkGame( )
+    
+    /**
+     * The tiled grid packs the proximity counts into its cells, so a node 
+     * can't have more adjacent nodes than a packed count can hold.
+     * 
+     * @param topology The Topology of the board.
+     * @return True if the proximity counts of the topology fit the cells.
+     */
+    @Override
+    protected boolean supportsTopology( Topology topology ) {
+        return topology.getMaxAdjacent() <= LandGrid.MAX_PROXIMITY_COUNT;
+        
+    } // End of supportsTopology( )
+    
+} // End of TiledMineSweeper class.
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+/**
+ * This enumeration lays out the shapes a board can take. Every board is still 
+ * stored as rows and columns of nodes, the topology only decides which nodes 
+ * are adjacent to which.
+ * 
+ * A hexagonal board shifts every odd row half a node to the right. A cubic 
+ * board stacks its layers one under another, so each layer takes up the same 
+ * number of rows.
+ * 
+ * @author Nicholas Moss
+ */
+public enum Topology {
+    // Enumerated Values
+    SQUARE( 8 ),        // The standard grid, bounded by its edges.
+    TORUS( 8 ),         // A grid whose edges wrap around to the other side.
+    HEXAGONAL( 6 ),     // A grid of hexagons with the odd rows shifted right.
+    CUBIC( 26 );        // Layers of grids stacked into a box.
+    
+    // The most adjacent nodes a node of this topology can have.
+    private final int maxAdjacent;
+    
+    /**
+     * Default 'constructor' of the enumerated value.
+     * 
+     * @param maxAdjacent The most adjacent nodes a node can have.
+     */
+    private Topology( int maxAdjacent ) {
+        this.maxAdjacent = maxAdjacent;
+        
+    } // End of Topology( )
+    
+    /**
+     * This function gets the most adjacent nodes a node can have, which is 
+     * also the highest proximity count a node can have.
+     * 
+     * @return The most adjacent nodes of a node.
+     */
+    public int getMaxAdjacent( ) {
+        return maxAdjacent;
+        
+    } // End of getMaxAdjacent( )
+    
+} // End of Topology enumeration.
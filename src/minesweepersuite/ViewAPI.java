@@ -39,13 +39,15 @@ public interface ViewAPI extends GridAPI {
     // Main Window Settings
     public int WINDOW_WIDTH = 1920;
     public int WINDOW_HEIGHT = 1080;
+    // Grids with more nodes than this are drawn on a LandCanvas.
+    public int MAX_BUTTON_NODES = 10000;
     
     // API Functions
     // Game Overview
     public void startGame( int rows, int columns );
     public void clearGame( );
     public void winGame( boolean newRecord );
-    public void loseGame( int[][] mineLocations, int[] coordinate );
+    public void loseGame( int[] mineLocations, int[] coordinate );
     public void pause( );
     public void setErrors( ArrayList<GameStatus> errorList );
     public void checkWinConditions( );
@@ -56,11 +58,21 @@ public interface ViewAPI extends GridAPI {
     @Override
     public LandButton[][] getGrid( );
     public void revealNode( int[] coordinate );
+    public void hideNode( int[] coordinate );
     public void checkNode( int[] coordinate );
     public void nextMarking( int[] coordinate, Marking marking );
     public boolean isNodeMarked( int[] coordinate );
     public void setNodeProx( int[] coordinate, int proxCount );
     public int[][] getMarkedLocations( );
+    
+    // Nodes by index, where the index of (x, y) is y * columns + x.
+    @Override
+    public LandButton getNode( int index );
+    public void revealNode( int index );
+    public void hideNode( int index );
+    public void nextMarking( int index, Marking marking );
+    public void setNodeProx( int index, int proxCount );
+    public void revealNodes( RevealDiff diff );
 
     
 } // End of ViewAPI interface.
@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.util.Arrays;
+
+/**
+ * This class is a PackedLandGrid for topologies where a node can have more 
+ * than 15 adjacent nodes, such as cubic boards. The proximity counts don't 
+ * fit in the packed cells, so each cell gets a second byte just for its count.
+ * 
+ * @author Nicholas Moss
+ */
+public class WideLandGrid extends PackedLandGrid {
+    
+    // The proximity count of every cell, indexed the same as the cells.
+    private final byte[] counts;
+    
+    /**
+     * Default constructor. All cells start unarmed, unmarked, and hidden.
+     * 
+     * @param rows The number of rows in the grid.
+     * @param columns The number of columns in the grid.
+     */
+    public WideLandGrid( int rows, int columns ) {
+        super( rows, columns );
+        counts = new byte[ rows * columns ];
+        
+    } // End of WideLandGrid( )
+    
+    /**
+     * This function is used to reset every cell back to an unarmed, unmarked, 
+     * and hidden state.
+     */
+    @Override
+    public void clear( ) {
+        super.clear( );
+        Arrays.fill( counts, 0, getSize(), (byte)0 );
+        
+    } // End of clear( )
+    
+    /**
+     * This function gets the highest proximity count the grid can hold.
+     * 
+     * @return The highest proximity count of a cell.
+     */
+    @Override
+    public int getMaxProximityCount( ) {
+        return 0xFF;
+        
+    } // End of getMaxProximityCount( )
+    
+    /**
+     * This function is used to get the count of mines adjacent to a cell.
+     * 
+     * @param index The index of the cell.
+     * @return The count of mines in adjacent cells.
+     */
+    @Override
+    public int getProximityCount( int index ) {
+        // A lazy grid has yet to count the mines around a hidden cell.
+        if( isLazyProximity() && !isRevealed(index) ) {
+            return countArmedNearby( index );
+        }
+        
+        return counts[ index ] & 0xFF;
+        
+    } // End of getProximityCount( )
+    
+    /**
+     * This function is used to increment the count of mines near a cell.
+     * 
+     * @param index The index of the cell.
+     */
+    @Override
+    public void incrementProximityCount( int index ) {
+        counts[ index ]++;
+        
+    } // End of incrementProximityCount( )
+    
+    /**
+     * This function is used to set the count of mines near a cell.
+     * 
+     * @param index The index of the cell.
+     * @param count The count of mines in adjacent cells.
+     */
+    @Override
+    public void setProximityCount( int index, int count ) {
+        counts[ index ] = (byte)count;
+        
+    } // End of setProximityCount( )
+    
+    /**
+     * This function is used to set the proximity count of every cell of a 
+     * square grid. The packed lanes of PackedLandGrid would write the counts 
+     * into the cells, so each cell is counted on its own instead.
+     */
+    @Override
+    public void computeProximity( ) {
+        for( int index = 0; index < getSize(); index++ ) {
+            counts[ index ] = (byte)countArmedNearby( index );
+        }
+        
+    } // End of computeProximity( )
+    
+    /**
+     * This function is used to take a read only copy of the grid. The counts 
+     * are copied along with the cells.
+     * 
+     * @return A LandSnapshot of the grid as it is now.
+     */
+    @Override
+    public LandSnapshot snapshot( ) {
+        return super.snapshot( ).withCounts( 
+                Arrays.copyOf(counts, getSize()) );
+        
+    } // End of snapshot( )
+    
+} // End of WideLandGrid class.
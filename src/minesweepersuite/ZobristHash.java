@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018 Nicholas Moss
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in 
+ * all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ * 
+ */
+
+package minesweepersuite;
+
+import java.io.Serializable;
+
+/**
+ * This class is a Zobrist hash of what the player can see of a grid. Every 
+ * node has a random 64 bit key for each way it can look, and the hash is the 
+ * XOR of the keys of every node that isn't plain and hidden. Changing a node 
+ * only takes its old key out and puts its new key in, so the hash is kept up 
+ * to date in constant time per node.
+ * 
+ * The keys are mixed from the node index and its look rather than stored, so
+ *  even a giant grid needs no table. They are the same for every game, so 
+ * equal boards give equal hashes across games.
+ * 
+ * @author Nicholas Moss
+ */
+public class ZobristHash implements Serializable {
+    
+    // How a node can look. A hidden node without a marking has no key.
+    private static final int HIDDEN = 0;
+    private static final int REVEALED_MINE = Marking.values( ).length;
+    private static final int REVEALED_COUNT = REVEALED_MINE + 1;
+    // Room for every look of a node, a proximity count up to 26 included.
+    private static final int LOOKS_PER_NODE = 32;
+    
+    // The XOR of the keys of every node.
+    private long hash;
+    
+    /**
+     * This function is used to take the key of a node out of the hash if it 
+     * is in there, or put it in otherwise. Toggling a node before and after a
+     *  change moves the hash from its old look to the new one.
+     * 
+     * @param grid The grid the node belongs to.
+     * @param index The index of the node.
+     */
+    public void toggle( LandGrid grid, int index ) {
+        hash ^= getKey( index, getLook(grid, index) );
+        
+    } // End of toggle( )
+    
+    /**
+     * This function is used to hash a whole grid from scratch.
+     * 
+     * @param grid The grid to hash.
+     */
+    public void rebuild( LandGrid grid ) {
+        hash = 0;
+        for( int index = 0; index < grid.getSize(); index++ ) {
+            toggle( grid, index );
+        }
+        
+    } // End of rebuild( )
+    
+    /**
+     * This function is used to reset the hash to that of an untouched grid.
+     */
+    public void clear( ) {
+        hash = 0;
+        
+    } // End of clear( )
+    
+    /**
+     * This function gets the hash.
+     * 
+     * @return The 64 bit hash of the grid.
+     */
+    public long getHash( ) {
+        return hash;
+        
+    } // End of getHash( )
+    
+    /**
+     * This function is used to work out how a node looks to the player.
+     * 
+     * @param grid The grid the node belongs to.
+     * @param index The index of the node.
+     * @return The look of the node.
+     */
+    private static int getLook( LandGrid grid, int index ) {
+        if( !grid.isRevealed(index) ) {
+            // NOT_MARKED is the first ordinal, so it lines up with HIDDEN.
+            return grid.getMarking( index ).ordinal( );
+        }
+        if( grid.isArmed(index) ) {
+            return REVEALED_MINE;
+        }
+        
+        return REVEALED_COUNT + grid.getProximityCount( index );
+        
+    } // End of getLook( )
+    
+    /**
+     * This function is used to make the key of a node with a given look. It 
+     * mixes the pair with the SplitMix64 finalizer.
+     * 
+     * @param index The index of the node.
+     * @param look The look of the node.
+     * @return The key, or 0 for a hidden node without a marking.
+     */
+    private static long getKey( int index, int look ) {
+        if( look == HIDDEN ) {
+            return 0;
+        }
+        long key = (long)index * LOOKS_PER_NODE + look;
+        key *= 0x9E3779B97F4A7C15L;
+        key = ( key ^ (key >>> 30) ) * 0xBF58476D1CE4E5B9L;
+        key = ( key ^ (key >>> 27) ) * 0x94D049BB133111EBL;
+        
+        return key ^ ( key >>> 31 );
+        
+    } // End of getKey( )
+    
+} // End of ZobristHash class.